@@ -0,0 +1,98 @@
+package by.it.group451003.kishkov.bench;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/*
+Генераторы входных данных для JMH-бенчмарков уроков.
+
+Все генераторы детерминированы (seed), чтобы прогоны до и после изменения
+сравнивались на одних и тех же данных.
+Текстовые входы формируются в том же формате, что и файлы dataX.txt уроков,
+и отдаются массивом байт, чтобы в замер не попадала работа с диском.
+*/
+
+public final class BenchmarkData {
+
+    public static final long SEED = 451003L;
+
+    //распределения значений во входном массиве
+    public enum Distribution {
+        RANDOM,
+        SORTED,
+        REVERSED,
+        MANY_DUPLICATES
+    }
+
+    private BenchmarkData() {
+    }
+
+    //size натуральных чисел из [1, bound] с заданным распределением
+    public static int[] ints(int size, Distribution distribution, int bound) {
+        Random random = new Random(SEED);
+        int[] a = new int[size];
+        switch (distribution) {
+            case RANDOM:
+                for (int i = 0; i < size; i++) {
+                    a[i] = 1 + random.nextInt(bound);
+                }
+                break;
+            case SORTED:
+            case REVERSED:
+                //арифметическая прогрессия 1 + i * step без шума: строго по возрастанию,
+                //пока не упрется в bound (дальше - равные bound); REVERSED - она же задом наперед
+                long step = Math.max(1, bound / Math.max(1, size));
+                for (int i = 0; i < size; i++) {
+                    a[i] = (int) Math.min(bound, 1 + i * step);
+                }
+                if (distribution == Distribution.REVERSED) {
+                    for (int i = 0, j = size - 1; i < j; i++, j--) {
+                        int t = a[i];
+                        a[i] = a[j];
+                        a[j] = t;
+                    }
+                }
+                break;
+            case MANY_DUPLICATES:
+                //не более 16 различных значений
+                int distinct = Math.min(16, bound);
+                for (int i = 0; i < size; i++) {
+                    a[i] = 1 + random.nextInt(distinct);
+                }
+                break;
+        }
+        return a;
+    }
+
+    //случайная строка длины length из первых alphabet строчных латинских букв
+    public static String letters(int length, int alphabet) {
+        Random random = new Random(SEED + length);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(alphabet));
+        }
+        return new String(chars);
+    }
+
+    //формат уроков: "n" в первой строке, затем сами числа через пробел
+    public static byte[] arrayInput(int[] values) {
+        StringBuilder sb = new StringBuilder(values.length * 11 + 16);
+        sb.append(values.length).append('\n');
+        appendValues(sb, values);
+        return bytes(sb);
+    }
+
+    public static void appendValues(StringBuilder sb, int[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(values[i]);
+        }
+        sb.append('\n');
+    }
+
+    public static byte[] bytes(CharSequence text) {
+        return text.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,37 @@
+package by.it.group451003.kishkov.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/*
+Точка входа для прогона всех бенчмарков уроков (классы LessonXXBenchmark).
+
+Бенчмарки сами задают режимы Throughput (ops/s) и SampleTime (перцентили),
+раннер добавляет GC-профайлер (gc.alloc.rate, gc.alloc.rate.norm)
+и сохраняет результат в JSON, чтобы сравнивать его с прошлым релизом.
+
+Аргументы командной строки - обычные опции JMH, например:
+    Lesson04Benchmark.mergeSort -p size=1000000 -p distribution=SORTED
+*/
+
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include("by\\.it\\.group451003\\.kishkov\\..*Benchmark");
+        }
+        Options options = builder
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,237 @@
+package by.it.group451003.kishkov.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/*
+Быстрая замена java.util.Scanner для загрузчиков уроков.
+
+Читает поток блоками в собственный байтовый буфер и разбирает числа
+прямо из байтов, без регулярных выражений и без создания строк.
+Строки создаются только там, где они действительно нужны (next, nextLine).
+
+В отличие от Scanner разделитель после числа поглощается, поэтому nextLine()
+сразу после nextInt() возвращает следующую строку, а не пустой остаток.
+
+Ошибки повторяют поведение Scanner:
+    - конец потока          -> NoSuchElementException
+    - токен не является числом -> InputMismatchException
+*/
+
+public class FastReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final InputStream stream;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int length = 0;
+    private int pointer = 0;
+
+    public FastReader(InputStream stream) {
+        this.stream = stream;
+    }
+
+    public int nextInt() {
+        int c = skipSpaces();
+        boolean negative = c == '-';
+        if (negative || c == '+') {
+            c = read();
+        }
+        if (c < '0' || c > '9') {
+            throw new InputMismatchException();
+        }
+        //копим отрицательное значение, чтобы без переполнения прочитать Integer.MIN_VALUE
+        int result = 0;
+        while (c >= '0' && c <= '9') {
+            int digit = c - '0';
+            if (result < (Integer.MIN_VALUE + digit) / 10) {
+                throw new InputMismatchException("int overflow");
+            }
+            result = result * 10 - digit;
+            c = read();
+        }
+        checkDelimiter(c);
+        if (negative) {
+            return result;
+        }
+        if (result == Integer.MIN_VALUE) {
+            throw new InputMismatchException("int overflow");
+        }
+        return -result;
+    }
+
+    public long nextLong() {
+        int c = skipSpaces();
+        boolean negative = c == '-';
+        if (negative || c == '+') {
+            c = read();
+        }
+        if (c < '0' || c > '9') {
+            throw new InputMismatchException();
+        }
+        long result = 0;
+        while (c >= '0' && c <= '9') {
+            int digit = c - '0';
+            if (result < (Long.MIN_VALUE + digit) / 10) {
+                throw new InputMismatchException("long overflow");
+            }
+            result = result * 10 - digit;
+            c = read();
+        }
+        checkDelimiter(c);
+        if (negative) {
+            return result;
+        }
+        if (result == Long.MIN_VALUE) {
+            throw new InputMismatchException("long overflow");
+        }
+        return -result;
+    }
+
+    //следующий токен как строка (байты трактуются как ISO-8859-1)
+    public String next() {
+        int c = skipSpaces();
+        StringBuilder sb = new StringBuilder();
+        while (c > ' ') {
+            sb.append((char) c);
+            c = read();
+        }
+        skipLineFeedAfter(c);
+        return sb.toString();
+    }
+
+    //остаток текущей строки без символов перевода строки
+    public String nextLine() {
+        int c = read();
+        if (c == -1) {
+            throw new NoSuchElementException();
+        }
+        StringBuilder sb = new StringBuilder();
+        while (c != -1 && c != '\n') {
+            if (c != '\r') {
+                sb.append((char) c);
+            }
+            c = read();
+        }
+        return sb.toString();
+    }
+
+    //читает следующий токен и сравнивает его со словом без учета регистра.
+    //токен считывается целиком в любом случае, строка не создается.
+    public boolean nextWordEqualsIgnoreCase(String word) {
+        int c = skipSpaces();
+        boolean equal = true;
+        int i = 0;
+        while (c > ' ') {
+            if (equal && (i >= word.length() || toLower(c) != toLower(word.charAt(i)))) {
+                equal = false;
+            }
+            i++;
+            c = read();
+        }
+        skipLineFeedAfter(c);
+        return equal && i == word.length();
+    }
+
+    //читает следующий токен и возвращает номер совпавшего с ним слова из words
+    //(без учета регистра) или -1. Слов не больше 64, строка не создается
+    public int nextWordIndexIgnoreCase(String[] words) {
+        int c = skipSpaces();
+        long candidates = words.length == 64 ? -1L : (1L << words.length) - 1;
+        int i = 0;
+        while (c > ' ') {
+            for (long rest = candidates; rest != 0; rest &= rest - 1) {
+                int w = Long.numberOfTrailingZeros(rest);
+                String word = words[w];
+                if (i >= word.length() || toLower(c) != toLower(word.charAt(i))) {
+                    candidates &= ~(1L << w);
+                }
+            }
+            i++;
+            c = read();
+        }
+        skipLineFeedAfter(c);
+        for (long rest = candidates; rest != 0; rest &= rest - 1) {
+            int w = Long.numberOfTrailingZeros(rest);
+            if (words[w].length() == i) {
+                return w;
+            }
+        }
+        return -1;
+    }
+
+    public boolean hasNext() {
+        int c = peek();
+        while (c != -1 && c <= ' ') {
+            pointer++;
+            c = peek();
+        }
+        return c != -1;
+    }
+
+    @Override
+    public void close() {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int skipSpaces() {
+        int c = read();
+        while (c != -1 && c <= ' ') {
+            c = read();
+        }
+        if (c == -1) {
+            throw new NoSuchElementException();
+        }
+        return c;
+    }
+
+    private void checkDelimiter(int c) {
+        if (c != -1 && c > ' ') {
+            throw new InputMismatchException();
+        }
+        skipLineFeedAfter(c);
+    }
+
+    //перевод строки Windows поглощается целиком, как и одиночный '\n'
+    private void skipLineFeedAfter(int c) {
+        if (c == '\r' && peek() == '\n') {
+            pointer++;
+        }
+    }
+
+    private int read() {
+        int c = peek();
+        if (c != -1) {
+            pointer++;
+        }
+        return c;
+    }
+
+    private int peek() {
+        if (pointer == length) {
+            try {
+                length = stream.read(buffer, 0, BUFFER_SIZE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pointer = 0;
+            if (length <= 0) {
+                length = 0;
+                return -1;
+            }
+        }
+        return buffer[pointer] & 0xFF;
+    }
+
+    private static int toLower(int c) {
+        return (c >= 'A' && c <= 'Z') ? c + ('a' - 'A') : c;
+    }
+}
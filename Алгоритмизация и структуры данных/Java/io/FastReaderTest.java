@@ -0,0 +1,142 @@
+package by.it.group451003.kishkov.io;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class FastReaderTest {
+
+    @Test
+    public void checkNumbers() throws Exception {
+        FastReader reader = reader("  -17 +5 0 -0\n2147483647 -2147483648 9223372036854775807 -9223372036854775808");
+        assertEquals(-17, reader.nextInt());
+        assertEquals(5, reader.nextInt());
+        assertEquals(0, reader.nextInt());
+        assertEquals(0, reader.nextInt());
+        assertEquals(Integer.MAX_VALUE, reader.nextInt());
+        assertEquals(Integer.MIN_VALUE, reader.nextInt());
+        assertEquals(Long.MAX_VALUE, reader.nextLong());
+        assertEquals(Long.MIN_VALUE, reader.nextLong());
+        assertFalse("numbers: unexpected token", reader.hasNext());
+    }
+
+    @Test
+    public void checkOverflow() throws Exception {
+        String[] badInts = {"2147483648", "-2147483649", "99999999999", "12a", "-", "+", "x"};
+        for (String token : badInts) {
+            try {
+                reader(token).nextInt();
+                fail("nextInt accepted " + token);
+            } catch (InputMismatchException expected) {
+            }
+        }
+        String[] badLongs = {"9223372036854775808", "-9223372036854775809", "123456789012345678901"};
+        for (String token : badLongs) {
+            try {
+                reader(token).nextLong();
+                fail("nextLong accepted " + token);
+            } catch (InputMismatchException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void checkLines() throws Exception {
+        //переводы строк Windows: после числа \r\n поглощается целиком
+        FastReader reader = reader("3\r\nfirst line\r\n\r\nlast");
+        assertEquals(3, reader.nextInt());
+        assertEquals("first line", reader.nextLine());
+        assertEquals("", reader.nextLine());
+        assertEquals("last", reader.nextLine());
+        assertFalse("lines: unexpected token", reader.hasNext());
+
+        reader = reader("Insert 5\r\nEXTRACTMAX\r\nPop\r\n");
+        String[] words = {"insert", "extractmax"};
+        assertEquals(0, reader.nextWordIndexIgnoreCase(words));
+        assertEquals(5, reader.nextInt());
+        assertEquals(1, reader.nextWordIndexIgnoreCase(words));
+        assertEquals(-1, reader.nextWordIndexIgnoreCase(words));
+        assertFalse("words: unexpected token", reader.hasNext());
+    }
+
+    @Test
+    public void checkEndOfStream() throws Exception {
+        //токен, оборванный концом потока, заканчивается на нем
+        FastReader reader = reader("12 -34");
+        assertEquals(12, reader.nextInt());
+        assertEquals(-34L, reader.nextLong());
+        try {
+            reader.nextInt();
+            fail("nextInt read past the end");
+        } catch (NoSuchElementException expected) {
+        }
+        //от последнего числа остался только знак
+        reader = reader("7 -");
+        assertEquals(7L, reader.nextLong());
+        try {
+            reader.nextLong();
+            fail("nextLong accepted a bare sign");
+        } catch (InputMismatchException expected) {
+        }
+        try {
+            reader("   \n").next();
+            fail("next read past the end");
+        } catch (NoSuchElementException expected) {
+        }
+    }
+
+    @Test
+    public void checkBufferBoundary() throws Exception {
+        //числа и слова пересекают границу внутреннего буфера (64 КБ) на разных смещениях
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 70_000; i++) {
+            sb.append(i % 2 == 0 ? -i : i).append(i % 7 == 0 ? "\r\n" : " ");
+            if (i % 1000 == 0) {
+                sb.append("Word").append(i).append(' ');
+            }
+        }
+        String text = sb.toString();
+        for (int chunk : new int[]{1 << 16, 3, 1}) {
+            FastReader reader = new FastReader(chunked(text, chunk));
+            for (int i = 0; i < 70_000; i++) {
+                assertEquals("boundary, chunk " + chunk, i % 2 == 0 ? -i : i, reader.nextInt());
+                if (i % 1000 == 0) {
+                    assertEquals("boundary, chunk " + chunk, "Word" + i, reader.next());
+                }
+            }
+            assertFalse("boundary: unexpected token", reader.hasNext());
+        }
+
+        //одно длинное число ровно на стыке двух заполнений буфера
+        StringBuilder padding = new StringBuilder();
+        for (int i = 0; i < (1 << 16) - 10; i++) {
+            padding.append(' ');
+        }
+        FastReader reader = reader(padding + "-9223372036854775808 1");
+        assertEquals(Long.MIN_VALUE, reader.nextLong());
+        assertEquals(1, reader.nextInt());
+        assertFalse("boundary: unexpected token", reader.hasNext());
+    }
+
+    private static FastReader reader(String text) {
+        return new FastReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    //поток, который отдает не больше chunk байт за одно чтение
+    private static InputStream chunked(String text, int chunk) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, chunk));
+            }
+        };
+    }
+}
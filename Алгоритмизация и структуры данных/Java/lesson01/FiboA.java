@@ -1,6 +1,8 @@
 package by.it.group451003.kishkov.lesson01;
 
 import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /*
  * Вам необходимо выполнить рекурсивный способ вычисления чисел Фибоначчи
@@ -8,6 +10,10 @@ import java.math.BigInteger;
 
 public class FiboA {
 
+    //шаг заполнения кеша memoA, он же предел глубины рекурсии
+    private static final int MEMO_STEP = 1024;
+    //поддеревья меньше этого считаются последовательно: F(20) - это около 10^4 вызовов
+    private static final int PARALLEL_CUTOFF = 20;
 
     private long startTime = System.currentTimeMillis();
 
@@ -28,15 +34,9 @@ public class FiboA {
         return res;
     }
 
-    private int calc(int n) {
-        int x1 = 1;
-        int x2 = 1;
-        n = n -2;
-        for (int i = 0; i < n; i++) {
-            x2 = x2 + x1;
-            x1 = x2;
-        }
-        return x2;
+    //int переполнялся уже после F(46), теперь точное значение в long до F(92)
+    private long calc(int n) {
+        return Fibonacci.fibLong(n);
     }
 
 
@@ -47,6 +47,63 @@ public class FiboA {
             return slowA(n-1).add(slowA(n-2));
     }
 
+    //та же рекурсия, но каждое F(k) считается один раз: O(n) сложений вместо O(phi^n)
+    BigInteger memoA(int n) {
+        checkIndex(n);
+        if (n == 0)
+            return BigInteger.ZERO;
+        BigInteger[] cache = new BigInteger[n + 1];
+        //кеш заполняется с шагом MEMO_STEP, чтобы глубина рекурсии не превышала шаг
+        for (int k = Math.min(n, MEMO_STEP); k < n; k += MEMO_STEP) {
+            memoA(k, cache);
+        }
+        return memoA(n, cache);
+    }
+
+    private static BigInteger memoA(int n, BigInteger[] cache) {
+        if (n <= 2)
+            return BigInteger.ONE;
+        if (cache[n] == null)
+            cache[n] = memoA(n - 1, cache).add(memoA(n - 2, cache));
+        return cache[n];
+    }
+
+    //та же экспоненциальная рекурсия, но верхние уровни дерева вызовов делятся между ядрами.
+    //Работы столько же, выигрыш - не больше числа ядер
+    BigInteger parallelA(int n) {
+        checkIndex(n);
+        if (n == 0)
+            return BigInteger.ZERO;
+        return ForkJoinPool.commonPool().invoke(new SlowTask(n));
+    }
+
+    private static void checkIndex(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n < 0: " + n);
+        }
+    }
+
+    private class SlowTask extends RecursiveTask<BigInteger> {
+        private static final long serialVersionUID = 1L;
+
+        private final int n;
+
+        SlowTask(int n) {
+            this.n = n;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            if (n <= PARALLEL_CUTOFF) {
+                return slowA(n);
+            }
+            SlowTask smaller = new SlowTask(n - 2);
+            smaller.fork();
+            BigInteger larger = new SlowTask(n - 1).compute();
+            return larger.add(smaller.join());
+        }
+    }
+
 
 }
 
@@ -22,15 +22,9 @@ public class FiboB {
         return System.currentTimeMillis() - startTime;
     }
 
+    //быстрое удвоение: O(log n) умножений и два живых значения вместо массива на n чисел
     BigInteger fastB(Integer n) {
-        if((n==1)||(n==2))
-            return BigInteger.ONE;
-        BigInteger[] arr = new BigInteger[n];
-        arr[0] = BigInteger.ONE;
-        arr[1] = BigInteger.ONE;
-        for (int i = 2; i <n; ++i)
-            arr[i]=arr[i-1].add(arr[i-2]);
-        return arr[n-1];
+        return Fibonacci.fib(n);
     }
 
 }
@@ -8,6 +8,9 @@ package by.it.group451003.kishkov.lesson01;
 
 public class FiboC {
 
+    //периоды Пизано общие для всех экземпляров: одни и те же модули приходят много раз
+    private static final ModularFibonacci FIBONACCI = new ModularFibonacci(1024);
+
     private long startTime = System.currentTimeMillis();
 
     public static void main(String[] args) {
@@ -21,33 +24,9 @@ public class FiboC {
         return System.currentTimeMillis() - startTime;
     }
 
+    //период Пизано для m ищется один раз и кешируется, дальше - быстрое удвоение по модулю
     long fasterC(long n, int m) {
-        //Интуитивно найти решение не всегда просто и
-        //возможно потребуется дополнительный поиск информации
-        if(n==0)
-            return 0;
-        if(n==1)
-            return 1;
-
-        int x1 = 0;
-        int x2 = 1;
-        int remain;
-        long period = 0;
-
-        do {
-            remain = (x1+x2) % m;
-            x1 = x2;
-            x2 = remain;
-            period++;
-        } while (!(x1==0&&x2==1));
-        n %= period;
-
-        for (int i = 2; i <= n;++i){
-            remain = (x1+x2)% m;
-            x1 = x2;
-            x2 = remain;
-        }
-        return x2;
+        return FIBONACCI.fib(n, m);
     }
 
 
@@ -0,0 +1,128 @@
+package by.it.group451003.kishkov.lesson01;
+
+import java.math.BigInteger;
+
+/*
+Вычисление n-го числа Фибоначчи за O(log n) умножений.
+
+    - быстрое удвоение: по паре (F(k-1), F(k)) за два возведения в квадрат
+      получается пара для 2k или 2k+1:
+          F(2k+1) = 4F(k)^2 - F(k-1)^2 + 2(-1)^k
+          F(2k-1) = F(k)^2 + F(k-1)^2
+          F(2k)   = F(2k+1) - F(2k-1)
+      квадрат BigInteger (x.multiply(x)) считается заметно дешевле
+      произвольного произведения, а на больших числах идет по Карацубе/Тоому
+    - живых значений всегда два, без массива на все промежуточные числа
+    - пока числа помещаются в long (F(92) - последнее такое), шаги идут
+      в long, и BigInteger появляется только на старших битах n
+    - для сравнения есть возведение в степень матрицы [[1,1],[1,0]]:
+      три произведения на шаг вместо двух квадратов
+
+Методы статические, состояния нет.
+*/
+
+public class Fibonacci {
+
+    //F(92) - наибольшее число Фибоначчи, помещающееся в long
+    static final int MAX_LONG_INDEX = 92;
+    //шаг удвоения из k дает F(2k+1) и считает 4F(k)^2, при k <= 45 это меньше 2^63
+    private static final int MAX_LONG_STEP = 45;
+
+    //точное значение в long, при n > 92 - ArithmeticException вместо переполнения
+    static long fibLong(int n) {
+        checkIndex(n);
+        if (n > MAX_LONG_INDEX) {
+            throw new ArithmeticException("F(" + n + ") does not fit into long");
+        }
+        if (n == 0) {
+            return 0;
+        }
+        long previous = 0;   //F(k-1)
+        long current = 1;    //F(k)
+        int k = 1;
+        for (int bit = Integer.highestOneBit(n) >> 1; bit != 0; bit >>= 1) {
+            long previous2 = previous * previous;
+            long current2 = current * current;
+            long odd = 4 * current2 - previous2 + ((k & 1) == 0 ? 2 : -2);    //F(2k+1)
+            long oddBefore = current2 + previous2;                           //F(2k-1)
+            if ((n & bit) != 0) {
+                previous = odd - oddBefore;
+                current = odd;
+                k = 2 * k + 1;
+            } else {
+                previous = oddBefore;
+                current = odd - oddBefore;
+                k = 2 * k;
+            }
+        }
+        return current;
+    }
+
+    static BigInteger fib(int n) {
+        checkIndex(n);
+        if (n <= MAX_LONG_INDEX) {
+            return BigInteger.valueOf(fibLong(n));
+        }
+        //старшие биты n, пока k не больше 45, обрабатываются в long
+        int bit = Integer.highestOneBit(n);
+        int k = 0;
+        while (bit != 0 && 2 * k + 1 <= MAX_LONG_STEP) {
+            k = 2 * k + ((n & bit) != 0 ? 1 : 0);
+            bit >>= 1;
+        }
+        BigInteger previous = BigInteger.valueOf(fibLong(k - 1));
+        BigInteger current = BigInteger.valueOf(fibLong(k));
+        BigInteger two = BigInteger.valueOf(2);
+
+        for (; bit != 0; bit >>= 1) {
+            BigInteger previous2 = previous.multiply(previous);
+            BigInteger current2 = current.multiply(current);
+            BigInteger odd = current2.shiftLeft(2).subtract(previous2);
+            odd = (k & 1) == 0 ? odd.add(two) : odd.subtract(two);
+            BigInteger oddBefore = current2.add(previous2);
+            if ((n & bit) != 0) {
+                previous = odd.subtract(oddBefore);
+                current = odd;
+                k = 2 * k + 1;
+            } else {
+                previous = oddBefore;
+                current = odd.subtract(oddBefore);
+                k = 2 * k;
+            }
+        }
+        return current;
+    }
+
+    //M^k = [[F(k+1), F(k)], [F(k), F(k-1)]] - симметричная матрица, хранится тремя числами
+    static BigInteger fibMatrix(int n) {
+        checkIndex(n);
+        if (n == 0) {
+            return BigInteger.ZERO;
+        }
+        BigInteger next = BigInteger.ONE;       //F(k+1)
+        BigInteger current = BigInteger.ONE;    //F(k)
+        BigInteger previous = BigInteger.ZERO;  //F(k-1)
+        for (int bit = Integer.highestOneBit(n) >> 1; bit != 0; bit >>= 1) {
+            //M^2k = M^k * M^k
+            BigInteger current2 = current.multiply(current);
+            BigInteger doubled = current.multiply(next.add(previous));
+            next = next.multiply(next).add(current2);
+            previous = previous.multiply(previous).add(current2);
+            current = doubled;
+            if ((n & bit) != 0) {
+                //M^(2k+1) = M^2k * M
+                BigInteger shifted = next.add(current);
+                previous = current;
+                current = next;
+                next = shifted;
+            }
+        }
+        return current;
+    }
+
+    private static void checkIndex(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n < 0: " + n);
+        }
+    }
+}
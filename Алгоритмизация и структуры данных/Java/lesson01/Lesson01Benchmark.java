@@ -0,0 +1,61 @@
+package by.it.group451003.kishkov.lesson01;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/*
+JMH-бенчмарки урока 1: числа Фибоначчи.
+n - номер числа, m - модуль для FiboC.
+fastB идет быстрым удвоением, fibMatrix - степенью матрицы для сравнения.
+*/
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Lesson01Benchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int n;
+
+    @Param({"1000", "100000"})
+    int m;
+
+    //n у FiboC до 10^18
+    private final long hugeN = 999_999_999_999_999_989L;
+    private final ModularFibonacci modular = new ModularFibonacci(16);
+
+    @Benchmark
+    public BigInteger fastB() {
+        return new FiboB().fastB(n);
+    }
+
+    @Benchmark
+    public BigInteger fibMatrix() {
+        return Fibonacci.fibMatrix(n);
+    }
+
+    @Benchmark
+    public long fasterC() {
+        return new FiboC().fasterC(n, m);
+    }
+
+    //период уже в кеше: одна операция - удвоение по модулю по n mod period
+    @Benchmark
+    public long modularCached() {
+        return modular.fib(hugeN, m);
+    }
+}
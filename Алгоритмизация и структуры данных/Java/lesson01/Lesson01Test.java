@@ -3,8 +3,11 @@ package by.it.group451003.kishkov.lesson01;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.util.Random;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 @SuppressWarnings("all")
 public class Lesson01Test {
@@ -25,6 +28,32 @@ public class Lesson01Test {
         assertTrue("slowA failed", ok);
     }
 
+    @Test(timeout = 5000)
+    public void checkA_variants() throws Exception {
+        FiboA fibo = new FiboA();
+        for (int n = 1; n <= 25; n++) {
+            BigInteger expected = fibo.slowA(n);
+            assertEquals("memoA failed, n=" + n, expected, fibo.memoA(n));
+            assertEquals("parallelA failed, n=" + n, expected, fibo.parallelA(n));
+        }
+        assertEquals("parallelA failed", "3524578", fibo.parallelA(33).toString());
+        //глубина рекурсии ограничена шагом заполнения кеша
+        assertEquals("memoA failed", Fibonacci.fib(100_000), fibo.memoA(100_000));
+
+        assertEquals("memoA failed, n=0", BigInteger.ZERO, fibo.memoA(0));
+        assertEquals("parallelA failed, n=0", BigInteger.ZERO, fibo.parallelA(0));
+        try {
+            fibo.memoA(-1);
+            fail("memoA accepted n=-1");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            fibo.parallelA(-1);
+            fail("parallelA accepted n=-1");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
     @Test(timeout = 2000)
     public void checkB_fast() throws Exception {
         FiboB fibo = new FiboB();
@@ -33,6 +62,30 @@ public class Lesson01Test {
         assertTrue("fastB failed", ok);
     }
 
+    @Test(timeout = 5000)
+    public void checkB_engine() throws Exception {
+        BigInteger previous = BigInteger.ONE;   //F(-1)
+        BigInteger current = BigInteger.ZERO;
+        for (int n = 0; n <= 3000; n++) {
+            assertEquals("fib failed, n=" + n, current, Fibonacci.fib(n));
+            assertEquals("fibMatrix failed, n=" + n, current, Fibonacci.fibMatrix(n));
+            if (n <= Fibonacci.MAX_LONG_INDEX) {
+                assertEquals("fibLong failed, n=" + n, current.longValue(), Fibonacci.fibLong(n));
+            }
+            BigInteger next = previous.add(current);
+            previous = current;
+            current = next;
+        }
+        try {
+            Fibonacci.fibLong(Fibonacci.MAX_LONG_INDEX + 1);
+            fail("fibLong must not overflow");
+        } catch (ArithmeticException expected) {
+        }
+        //F(n) ~ phi^n / sqrt(5), в нем около 0.694n бит
+        BigInteger big = Fibonacci.fib(1_000_003);
+        assertEquals("fib failed on large n", Fibonacci.fibMatrix(1_000_003), big);
+        assertEquals("fib bit length", 694_243, big.bitLength());
+    }
 
     @Test(timeout = 2000)
     public void checkC_faster() throws Exception {
@@ -41,4 +94,57 @@ public class Lesson01Test {
         assertTrue("fasterC failed 2", fibo.fasterC(1, 2) == 1L);
         assertTrue("fasterC failed 3", fibo.fasterC(999999999, 321) == 34L);
     }
+
+    @Test(timeout = 5000)
+    public void checkC_modular() throws Exception {
+        ModularFibonacci fibonacci = new ModularFibonacci(2);
+        //обычный, Монтгомери (нечетные) и склейка 2^s и нечетной части (четные большие модули)
+        long[] moduli = {2, 10, 321, 100_000, 3_037_000_499L, 3_037_000_501L, 4_000_000_000L,
+                Long.MAX_VALUE, Long.MAX_VALUE - 1, 1_000_000_000_000_000_003L, 1L << 62, 3L << 40};
+        Random random = new Random(451003);
+        for (long m : moduli) {
+            BigInteger modulus = BigInteger.valueOf(m);
+            for (int n = 0; n <= 300; n++) {
+                long expected = Fibonacci.fib(n).mod(modulus).longValue();
+                assertEquals("modular fib failed, n=" + n + " m=" + m, expected, fibonacci.fib(n, m));
+            }
+            for (int round = 0; round < 20; round++) {
+                long n = random.nextLong() & Long.MAX_VALUE;
+                assertEquals("modular fib failed, n=" + n + " m=" + m, referenceFib(n, modulus), fibonacci.fib(n, m));
+            }
+        }
+        assertEquals("pisano failed", 60, ModularFibonacci.pisanoPeriod(10));
+        assertEquals("pisano failed", 1_500_000, ModularFibonacci.pisanoPeriod(1_000_000));
+        assertTrue("cache is not bounded", fibonacci.cachedPeriods() == 2);
+
+        int q = 5000;
+        long[] ns = new long[q];
+        int[] ms = new int[q];
+        for (int i = 0; i < q; i++) {
+            ns[i] = random.nextLong() & Long.MAX_VALUE;
+            ms[i] = i % 7 == 0 ? 1 + random.nextInt(Integer.MAX_VALUE) : 1 + random.nextInt(50);
+        }
+        long[] all = fibonacci.fibAll(ns, ms);
+        for (int i = 0; i < q; i++) {
+            assertEquals("fibAll failed at " + i, referenceFib(ns[i], BigInteger.valueOf(ms[i])), all[i]);
+        }
+    }
+
+    //быстрое удвоение в BigInteger по модулю - эталон для больших n
+    private static long referenceFib(long n, BigInteger m) {
+        BigInteger a = BigInteger.ZERO;
+        BigInteger b = BigInteger.ONE;
+        for (int bit = 62; bit >= 0; bit--) {
+            BigInteger c = a.multiply(b.shiftLeft(1).subtract(a)).mod(m);
+            BigInteger d = a.multiply(a).add(b.multiply(b)).mod(m);
+            if (((n >>> bit) & 1) != 0) {
+                a = d;
+                b = c.add(d).mod(m);
+            } else {
+                a = c;
+                b = d;
+            }
+        }
+        return a.longValue();
+    }
 }
@@ -0,0 +1,318 @@
+package by.it.group451003.kishkov.lesson01;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+Остаток от деления F(n) на m для 0 <= n <= Long.MAX_VALUE и 1 <= m <= Long.MAX_VALUE.
+
+    - быстрое удвоение по модулю: по (F(k), F(k+1)) получается пара для 2k или 2k+1
+          F(2k)   = F(k) * (2F(k+1) - F(k))
+          F(2k+1) = F(k)^2 + F(k+1)^2
+      это O(log n) умножений по модулю и никакого линейного цикла
+    - умножение по модулю выбирается по величине m:
+        m <= 3037000499 - произведение остатков помещается в long, хватает a * b % m
+        нечетный m      - умножение Монтгомери: 128-битное произведение через
+                          Math.multiplyHigh и редукция без деления
+        четный m = 2^s * o - отдельно по модулю 2^s (умножение с маской) и по
+                          нечетному o, ответы склеиваются по китайской теореме об остатках
+    - периоды Пизано для небольших m (до PISANO_LIMIT) считаются один раз
+      и хранятся в LRU-кеше ограниченного размера; n сначала берется по
+      модулю периода, и удвоению остается O(log m) шагов вместо O(log n)
+    - пакетный fibAll группирует запросы по модулю: период и арифметика
+      находятся один раз на группу
+
+Доступ к кешу синхронизирован, так что один экземпляр можно разделять между потоками.
+*/
+
+public class ModularFibonacci {
+
+    //период Пизано не больше 6m, его линейный подсчет для m до 10^6 занимает миллисекунды
+    static final int PISANO_LIMIT = 1_000_000;
+    //наибольший m, для которого (m - 1)^2 помещается в long
+    private static final long PLAIN_LIMIT = 3037000499L;
+
+    private final PisanoCache periods;
+
+    public ModularFibonacci(int cacheSize) {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("cacheSize <= 0: " + cacheSize);
+        }
+        periods = new PisanoCache(cacheSize);
+    }
+
+    long fib(long n, long m) {
+        checkQuery(n, m);
+        if (m == 1) {
+            return 0;
+        }
+        if (m <= PISANO_LIMIT) {
+            n %= period((int) m);
+        }
+        return residue(n, m);
+    }
+
+    //ответы в порядке запросов: result[i] = F(ns[i]) mod ms[i]
+    long[] fibAll(long[] ns, int[] ms) {
+        if (ns.length != ms.length) {
+            throw new IllegalArgumentException("ns.length != ms.length");
+        }
+        int q = ns.length;
+        //в старших 32 битах модуль, в младших - номер запроса
+        long[] order = new long[q];
+        for (int i = 0; i < q; i++) {
+            checkQuery(ns[i], ms[i]);
+            order[i] = ((long) ms[i] << 32) | i;
+        }
+        Arrays.sort(order);
+
+        long[] result = new long[q];
+        int from = 0;
+        while (from < q) {
+            int m = (int) (order[from] >>> 32);
+            int to = from;
+            while (to < q && (int) (order[to] >>> 32) == m) {
+                to++;
+            }
+            if (m > 1) {
+                long period = m <= PISANO_LIMIT ? period(m) : 0;
+                Arithmetic arithmetic = arithmetic(m);
+                for (int j = from; j < to; j++) {
+                    int index = (int) order[j];
+                    long n = period != 0 ? ns[index] % period : ns[index];
+                    result[index] = fib(n, arithmetic);
+                }
+            }
+            from = to;
+        }
+        return result;
+    }
+
+    //период считается вне блокировки: два потока могут посчитать его одновременно, но результат один
+    long period(int m) {
+        Long period;
+        synchronized (periods) {
+            period = periods.get(m);
+        }
+        if (period == null) {
+            period = pisanoPeriod(m);
+            synchronized (periods) {
+                periods.put(m, period);
+            }
+        }
+        return period;
+    }
+
+    int cachedPeriods() {
+        synchronized (periods) {
+            return periods.size();
+        }
+    }
+
+    //линейный поиск возврата к паре (0, 1), m >= 2
+    static long pisanoPeriod(int m) {
+        int previous = 0;
+        int current = 1;
+        long period = 0;
+        do {
+            int next = previous + current;
+            if (next >= m) {
+                next -= m;
+            }
+            previous = current;
+            current = next;
+            period++;
+        } while (previous != 0 || current != 1);
+        return period;
+    }
+
+    //F(n) mod m, числа внутри цикла - в представлении арифметики
+    private static long fib(long n, Arithmetic arithmetic) {
+        if (n == 0) {
+            return 0;
+        }
+        long a = arithmetic.one();      //F(k), k = 1
+        long b = a;                     //F(k+1)
+        for (long bit = Long.highestOneBit(n) >>> 1; bit != 0; bit >>>= 1) {
+            long even = arithmetic.multiply(a, arithmetic.subtract(arithmetic.add(b, b), a));
+            long odd = arithmetic.add(arithmetic.multiply(a, a), arithmetic.multiply(b, b));
+            if ((n & bit) != 0) {
+                a = odd;
+                b = arithmetic.add(even, odd);
+            } else {
+                a = even;
+                b = odd;
+            }
+        }
+        return arithmetic.value(a);
+    }
+
+    //F(n) mod m для любого m >= 2
+    private static long residue(long n, long m) {
+        if (m <= PLAIN_LIMIT || (m & 1) != 0) {
+            return fib(n, arithmetic(m));
+        }
+        int shift = Long.numberOfTrailingZeros(m);
+        long power = 1L << shift;
+        long odd = m >>> shift;
+        long low = fib(n, new PowerOfTwoArithmetic(power));
+        if (odd == 1) {
+            return low;
+        }
+        Arithmetic arithmetic = arithmetic(odd);
+        long high = fib(n, arithmetic);
+        //x = low + 2^s * t, где t = (high - low) / 2^s mod o; деление на 2 по нечетному
+        //модулю - сдвиг четного числа или (t + o) / 2 для нечетного, o < 2^62, переполнения нет
+        long t = arithmetic.subtract(high, low % odd);
+        for (int i = 0; i < shift; i++) {
+            t = (t & 1) == 0 ? t >>> 1 : (t + odd) >>> 1;
+        }
+        //low < 2^s и t < o, поэтому сумма меньше m
+        return low + power * t;
+    }
+
+    private static Arithmetic arithmetic(long m) {
+        return m <= PLAIN_LIMIT ? new PlainArithmetic(m) : new MontgomeryArithmetic(m);
+    }
+
+    private static void checkQuery(long n, long m) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n < 0: " + n);
+        }
+        if (m < 1) {
+            throw new IllegalArgumentException("m < 1: " + m);
+        }
+    }
+
+    //сложение и вычитание остатков без переполнения при любом m < 2^63
+    private abstract static class Arithmetic {
+        final long m;
+
+        Arithmetic(long m) {
+            this.m = m;
+        }
+
+        final long add(long a, long b) {
+            return a >= m - b ? a - (m - b) : a + b;
+        }
+
+        final long subtract(long a, long b) {
+            return a >= b ? a - b : a + (m - b);
+        }
+
+        abstract long one();
+
+        abstract long multiply(long a, long b);
+
+        //обычный остаток по числу во внутреннем представлении
+        abstract long value(long a);
+    }
+
+    private static final class PlainArithmetic extends Arithmetic {
+        PlainArithmetic(long m) {
+            super(m);
+        }
+
+        @Override
+        long one() {
+            return 1;
+        }
+
+        @Override
+        long multiply(long a, long b) {
+            return a * b % m;
+        }
+
+        @Override
+        long value(long a) {
+            return a;
+        }
+    }
+
+    //числа хранятся как a * 2^64 mod m, умножение - REDC(a * b) = a * b / 2^64 mod m
+    private static final class MontgomeryArithmetic extends Arithmetic {
+        private final long inverse;     //m^-1 mod 2^64
+        private final long one;         //2^64 mod m
+
+        MontgomeryArithmetic(long m) {
+            super(m);
+            //итерации Ньютона: у нечетного m верны 3 бита m^-1 = m, каждая итерация их удваивает
+            long x = m;
+            for (int i = 0; i < 5; i++) {
+                x *= 2 - m * x;
+            }
+            inverse = x;
+            one = Long.remainderUnsigned(-m, m);
+        }
+
+        @Override
+        long one() {
+            return one;
+        }
+
+        @Override
+        long multiply(long a, long b) {
+            //a, b < m < 2^63, поэтому знаковый multiplyHigh совпадает с беззнаковым
+            return reduce(Math.multiplyHigh(a, b), a * b);
+        }
+
+        @Override
+        long value(long a) {
+            return reduce(0, a);
+        }
+
+        //(high * 2^64 + low) / 2^64 mod m при high < m
+        private long reduce(long high, long low) {
+            long q = low * inverse;
+            long r = high - unsignedMultiplyHigh(q, m);
+            return r < 0 ? r + m : r;
+        }
+
+        private static long unsignedMultiplyHigh(long a, long b) {
+            return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+        }
+    }
+
+    //модуль 2^s: остаток от произведения - просто младшие s бит
+    private static final class PowerOfTwoArithmetic extends Arithmetic {
+        private final long mask;
+
+        PowerOfTwoArithmetic(long power) {
+            super(power);
+            mask = power - 1;
+        }
+
+        @Override
+        long one() {
+            return 1;
+        }
+
+        @Override
+        long multiply(long a, long b) {
+            return a * b & mask;
+        }
+
+        @Override
+        long value(long a) {
+            return a;
+        }
+    }
+
+    //LinkedHashMap в порядке доступа: при переполнении вытесняется давно не использованный модуль
+    private static final class PisanoCache extends LinkedHashMap<Integer, Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        PisanoCache(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Long> eldest) {
+            return size() > capacity;
+        }
+    }
+}
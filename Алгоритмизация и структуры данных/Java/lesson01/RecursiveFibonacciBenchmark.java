@@ -0,0 +1,65 @@
+package by.it.group451003.kishkov.lesson01;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/*
+JMH-сравнение классов сложности на малых n, где еще успевает рекурсия:
+    slowA     - O(phi^n) вызовов
+    parallelA - столько же работы, поделенной между ядрами
+    memoA     - O(n) сложений
+    fastB     - O(log n) умножений
+    fasterC   - O(log n) умножений по модулю (период Пизано уже в кеше)
+Результат - вызовов в секунду; при росте n на 5 slowA замедляется примерно в 11 раз
+(phi^5), memoA - почти не меняется.
+*/
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecursiveFibonacciBenchmark {
+
+    @Param({"20", "25", "30"})
+    int n;
+
+    private final FiboA fiboA = new FiboA();
+
+    @Benchmark
+    public BigInteger slowA() {
+        return fiboA.slowA(n);
+    }
+
+    @Benchmark
+    public BigInteger parallelA() {
+        return fiboA.parallelA(n);
+    }
+
+    @Benchmark
+    public BigInteger memoA() {
+        return fiboA.memoA(n);
+    }
+
+    @Benchmark
+    public BigInteger fastB() {
+        return new FiboB().fastB(n);
+    }
+
+    @Benchmark
+    public long fasterC() {
+        return new FiboC().fasterC(n, 1000);
+    }
+}
@@ -27,21 +27,22 @@ public class A_VideoRegistrator {
         List<Double> result;
         result = new ArrayList<>();
 
-        int i = 0;                              //i - это индекс события events[i]
-        double firstEvent;
-        double lastEvent;
-
-        Arrays.sort(events);
-
-        while (i < events.length) {
-            firstEvent = events[i];
-            lastEvent = firstEvent + workDuration;
-            result.add(firstEvent);
-
-            while(i<events.length && events[i]<=lastEvent){
-                ++i;
-            };
+        for (double start : calcStartTimesArray(events, workDuration)) {
+            result.add(start);
         }
         return result;                        //вернем итог
     }
+
+    //то же без упаковки в Double; массив events не изменяется
+    double[] calcStartTimesArray(double[] events, double workDuration) {
+        double[] sorted = events.clone();
+        Arrays.sort(sorted);
+
+        //после сортировки окно переупорядочивания не нужно
+        StreamingRegistrator.ArraySink starts = new StreamingRegistrator.ArraySink();
+        StreamingRegistrator registrator = new StreamingRegistrator(workDuration, 0, starts);
+        registrator.accept(sorted, 0, sorted.length);
+        registrator.finish();
+        return starts.toArray();
+    }
 }
@@ -28,30 +28,17 @@ public class B_Sheduler {
         List<Event> result;
         result = new ArrayList<>();
 
-        events = simpleInsertSort(events);
-
-        for(int i = 0; i < events.length; ++i){
-            if (events[i].start >= from && events[i].stop <= to) {
-                result.add(events[i]);
-                from = events[i].stop;
-            }
+        int[] starts = new int[events.length];
+        int[] stops = new int[events.length];
+        for (int i = 0; i < events.length; i++) {
+            starts[i] = events[i].start;
+            stops[i] = events[i].stop;
         }
-        return result;          //вернем итог
-    }
 
-    public static Event[] simpleInsertSort(Event[] events){
-        int j;
-        Event temp;
-        for (int i = 1; i < events.length; ++i){
-            temp = events[i];
-            j = i - 1;
-            while(j >= 0 && events[j].stop > temp.stop){
-                events[j+1] = events[j];
-                --j;
-            }
-            events[j+1] = temp;
+        for (int index : new IntervalScheduler(starts, stops).select(from, to)) {
+            result.add(events[index]);
         }
-        return events;
+        return result;          //вернем итог
     }
 
     //событие у аудитории(два поля: начало и конец)
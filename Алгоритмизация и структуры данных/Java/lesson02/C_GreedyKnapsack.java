@@ -13,9 +13,10 @@ package by.it.group451003.kishkov.lesson02;
 Предметы можно резать на кусочки (т.е. алгоритм будет жадным)
  */
 
+import by.it.group451003.kishkov.io.FastReader;
+
 import java.io.FileNotFoundException;
 import java.io.InputStream;
-import java.util.Scanner;
 
 public class C_GreedyKnapsack {
     public static void main(String[] args) throws FileNotFoundException {
@@ -27,71 +28,26 @@ public class C_GreedyKnapsack {
     }
 
     double calc(InputStream inputStream) throws FileNotFoundException {
-        Scanner input = new Scanner(inputStream);
+        FastReader reader = new FastReader(inputStream);
+        double result = calc(reader);
+        reader.close();
+        return result;
+    }
+
+    double calc(FastReader input) {
         int n = input.nextInt();      //сколько предметов в файле
         int W = input.nextInt();      //какой вес у рюкзака
-        Item[] items = new Item[n];   //получим список предметов
-        for (int i = 0; i < n; i++) { //создавая каждый конструктором
-            items[i] = new Item(input.nextInt(), input.nextInt());
-        }
-        //покажем предметы
-        for (Item item : items) {
-            System.out.println(item);
+        int[] costs = new int[n];     //предметы храним двумя массивами,
+        int[] weights = new int[n];   //без объекта на каждый предмет
+        for (int i = 0; i < n; i++) {
+            costs[i] = input.nextInt();
+            weights[i] = input.nextInt();
         }
         System.out.printf("Всего предметов: %d. Рюкзак вмещает %d кг.\n", n, W);
 
-        items = simpleInsertSort(items);
+        double result = FractionalKnapsack.solve(costs, weights, W);
 
-        double result = 0;
-
-        for (Item item : items) {
-            if (item.weight <= W) {
-                W -= item.weight;
-                result += item.cost;
-            } else {
-                result += item.cost * W / (float) item.weight;
-                break;
-            }
-        }
         System.out.printf("Удалось собрать рюкзак на сумму %f\n", result);
         return result;
     }
-
-    public static Item[] simpleInsertSort(Item[] items){
-        int j;
-        Item temp;
-        for (int i = 1; i < items.length; ++i){
-            temp = items[i];
-            j = i - 1;
-            while(j >= 0 && items[j].compareTo(temp) < 0){
-                items[j+1] = items[j];
-                --j;
-            }
-            items[j+1] = temp;
-        }
-        return items;
-    }
-
-    private static class Item implements Comparable<Item> {
-        int cost;
-        int weight;
-
-        Item(int cost, int weight) {
-            this.cost = cost;
-            this.weight = weight;
-        }
-
-        @Override
-        public String toString() {
-            return "Item{" +
-                   "cost=" + cost +
-                   ", weight=" + weight +
-                   '}';
-        }
-
-        @Override
-        public int compareTo(Item o) {
-            return this.cost/this.weight - o.cost / o.weight;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,140 @@
+package by.it.group451003.kishkov.lesson02;
+
+import java.math.BigInteger;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+Непрерывный (дробный) рюкзак за ожидаемое O(n) без сортировки.
+
+Жадный ответ - брать предметы по убыванию удельной стоимости cost/weight,
+пока они помещаются целиком, а от первого не поместившегося (критического)
+взять часть. Полный порядок для этого не нужен: достаточно найти критический
+предмет, как в quickselect, только по весу, а не по номеру.
+
+    - случайный опорный предмет (p, q) делит участок на три части:
+      лучше опорного, равные ему и хуже
+    - если лучшие целиком не помещаются, ответ внутри них;
+      иначе они берутся целиком, затем равные, и поиск идет в худших
+
+Удельные стоимости сравниваются без деления: c/w > p/q  <=>  c*q > p*w,
+произведения int на int точно помещаются в long. Предметы нулевого веса
+берутся сразу, вместимость они не занимают. Предметы с неположительной
+стоимостью не берет ни один оптимальный набор, они отбрасываются до выбора:
+иначе их отрицательная часть уменьшила бы ответ, и он перестал бы быть
+верхней границей для точных решателей.
+
+Массивы costs и weights переставляются на месте.
+*/
+
+public class FractionalKnapsack {
+
+    //итог выбора: целиком взятая стоимость whole и остаток вместимости rest,
+    //заполняемый предметами с удельной стоимостью pivotCost / pivotWeight
+    private long whole = 0;
+    private long pivotCost = 0;
+    private long pivotWeight = 1;
+    private long rest = 0;
+
+    private FractionalKnapsack() {
+    }
+
+    public static double solve(int[] costs, int[] weights, long capacity) {
+        return solve(costs, weights, 0, costs.length, capacity);
+    }
+
+    //наибольшая стоимость предметов из [from, to) при вместимости capacity
+    public static double solve(int[] costs, int[] weights, int from, int to, long capacity) {
+        FractionalKnapsack knapsack = new FractionalKnapsack();
+        knapsack.select(costs, weights, from, to, capacity);
+        return knapsack.whole + (double) knapsack.pivotCost * knapsack.rest / knapsack.pivotWeight;
+    }
+
+    public static long upperBound(int[] costs, int[] weights, long capacity) {
+        return upperBound(costs, weights, 0, costs.length, capacity);
+    }
+
+    //точная целая часть solve: ни один набор целых предметов не стоит больше.
+    //Считается без double, поэтому годится для отсечений в точных решателях
+    public static long upperBound(int[] costs, int[] weights, int from, int to, long capacity) {
+        FractionalKnapsack knapsack = new FractionalKnapsack();
+        knapsack.select(costs, weights, from, to, capacity);
+        long p = knapsack.pivotCost;
+        long r = knapsack.rest;
+        if ((p | r) >>> 31 == 0) {
+            return knapsack.whole + p * r / knapsack.pivotWeight;
+        }
+        return knapsack.whole + BigInteger.valueOf(p).multiply(BigInteger.valueOf(r))
+                .divide(BigInteger.valueOf(knapsack.pivotWeight)).longValueExact();
+    }
+
+    private void select(int[] costs, int[] weights, int from, int to, long capacity) {
+        //предметы нулевого веса переносятся в начало участка и берутся целиком,
+        //предметы с неположительной стоимостью - в конец и дальше не рассматриваются
+        int low = from;
+        int high = to;
+        for (int i = from; i < high; ) {
+            if (weights[i] == 0) {
+                whole += Math.max(costs[i], 0);
+                swap(costs, weights, i++, low++);
+            } else if (costs[i] <= 0) {
+                swap(costs, weights, i, --high);
+            } else {
+                i++;
+            }
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (low < high && capacity > 0) {
+            int pivot = low + random.nextInt(high - low);
+            long p = costs[pivot];
+            long q = weights[pivot];
+
+            //[low, lt) - лучше опорного, [lt, gt] - равные, (gt, high) - хуже
+            int lt = low, i = low, gt = high - 1;
+            long betterWeight = 0, betterCost = 0;
+            long equalWeight = 0, equalCost = 0;
+            while (i <= gt) {
+                long c = costs[i];
+                long w = weights[i];
+                long difference = c * q - p * w;
+                if (difference > 0) {
+                    betterWeight += w;
+                    betterCost += c;
+                    swap(costs, weights, i++, lt++);
+                } else if (difference < 0) {
+                    swap(costs, weights, i, gt--);
+                } else {
+                    equalWeight += w;
+                    equalCost += c;
+                    i++;
+                }
+            }
+
+            if (betterWeight > capacity) {
+                high = lt;
+                continue;
+            }
+            whole += betterCost;
+            capacity -= betterWeight;
+            if (equalWeight >= capacity) {
+                //у всех равных одна удельная стоимость p/q
+                pivotCost = p;
+                pivotWeight = q;
+                rest = capacity;
+                return;
+            }
+            whole += equalCost;
+            capacity -= equalWeight;
+            low = gt + 1;
+        }
+    }
+
+    private static void swap(int[] costs, int[] weights, int i, int j) {
+        int temp = costs[i];
+        costs[i] = costs[j];
+        costs[j] = temp;
+        temp = weights[i];
+        weights[i] = weights[j];
+        weights[j] = temp;
+    }
+}
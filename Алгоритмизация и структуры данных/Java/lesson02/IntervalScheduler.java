@@ -0,0 +1,129 @@
+package by.it.group451003.kishkov.lesson02;
+
+import java.util.Arrays;
+
+/*
+Жадное расписание интервальных событий на примитивных массивах.
+
+События один раз сортируются по концу: пара (stop, номер) упаковывается
+в long (stop в старших 32 битах, номер в младших), и Arrays.sort(long[])
+дает порядок по концу, а при равных концах - по исходному номеру, как
+у устойчивой сортировки. Дальше каждый режим - один проход по этому порядку.
+
+    select      - одна аудитория: надежный шаг "берем событие, которое раньше
+                  всех заканчивается и не пересекается с уже взятыми"
+    assignRooms - k аудиторий: событие отдается той аудитории, которая
+                  освободилась позже всех, но не позже его начала (best fit).
+                  Так свободные раньше аудитории остаются для событий, которые
+                  начинаются раньше, и число принятых событий максимально.
+
+События [start, stop] и [stop, ...] не пересекаются.
+*/
+
+public class IntervalScheduler {
+
+    private final int[] starts;
+    private final int[] stops;
+    //номера событий по возрастанию конца
+    private final int[] order;
+
+    public IntervalScheduler(int[] starts, int[] stops) {
+        if (starts.length != stops.length) {
+            throw new IllegalArgumentException("starts.length != stops.length");
+        }
+        this.starts = starts;
+        this.stops = stops;
+
+        int n = starts.length;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = ((long) stops[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+        order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) keys[i];
+        }
+    }
+
+    //номера принятых событий из [from, to] в порядке их следования
+    public int[] select(int from, int to) {
+        int[] result = new int[order.length];
+        int count = 0;
+        for (int index : order) {
+            if (starts[index] >= from && stops[index] <= to) {
+                result[count++] = index;
+                from = stops[index];
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /*
+    rooms[i] - номер аудитории события i или -1, если событие не принято.
+
+    Моменты освобождения аудиторий хранятся в массиве free в порядке появления.
+    События идут по возрастанию конца, поэтому каждый новый момент не меньше
+    всех прежних и массив всегда отсортирован: нужная аудитория находится
+    бинарным поиском, а занятые ячейки пропускаются через ссылки left
+    на ближайшую живую ячейку слева (со сжатием путей).
+    */
+    public int[] assignRooms(int rooms, int from, int to) {
+        int n = order.length;
+        //ячейка 0 - ограничитель "подходящей аудитории нет"
+        int[] free = new int[rooms + n + 1];
+        int[] roomOf = new int[rooms + n + 1];
+        int[] left = new int[rooms + n + 1];
+        int size = 1;
+        for (int room = 0; room < rooms; room++, size++) {
+            free[size] = from;
+            roomOf[size] = room;
+            left[size] = size;
+        }
+
+        int[] result = new int[n];
+        Arrays.fill(result, -1);
+        for (int index : order) {
+            int start = starts[index];
+            int stop = stops[index];
+            if (start < from || stop > to) {
+                continue;
+            }
+            int slot = find(left, upperBound(free, size, start) - 1);
+            if (slot == 0) {
+                continue;
+            }
+            result[index] = roomOf[slot];
+            left[slot] = slot - 1;
+
+            free[size] = stop;
+            roomOf[size] = roomOf[slot];
+            left[size] = size;
+            size++;
+        }
+        return result;
+    }
+
+    //ближайшая живая ячейка не правее slot
+    private static int find(int[] left, int slot) {
+        while (left[slot] != slot) {
+            left[slot] = left[left[slot]];
+            slot = left[slot];
+        }
+        return slot;
+    }
+
+    //первая ячейка из [1, size) с free > value
+    private static int upperBound(int[] free, int size, int value) {
+        int low = 1, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (free[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
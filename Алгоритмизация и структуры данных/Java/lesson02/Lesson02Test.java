@@ -1,9 +1,16 @@
 package by.it.group451003.kishkov.lesson02;
 
+import by.it.group451003.kishkov.lesson02.knapsack.BoundedKnapsack;
+import by.it.group451003.kishkov.lesson02.knapsack.KnapsackInput;
+import by.it.group451003.kishkov.lesson02.knapsack.MeetInTheMiddleKnapsack;
+import by.it.group451003.kishkov.lesson02.knapsack.ZeroOneKnapsack;
 import org.junit.Test;
 
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertTrue;
 
@@ -27,6 +34,67 @@ public class Lesson02Test {
         assertTrue("slowA failed", ok);
     }
 
+    @Test(timeout = 2000)
+    public void checkA_streaming() {
+        Random random = new Random(451003);
+        int window = 8;
+        double[] events = new double[100_000];
+        for (int i = 1; i < events.length; i++) {
+            events[i] = events[i - 1] + random.nextDouble();
+        }
+        //перемешиваем внутри блоков по window + 1: ни одно событие не опаздывает больше чем на window
+        double[] feed = events.clone();
+        for (int from = 0; from < feed.length; from += window + 1) {
+            for (int i = Math.min(feed.length, from + window + 1) - 1; i > from; i--) {
+                int j = from + random.nextInt(i - from + 1);
+                double temp = feed[i];
+                feed[i] = feed[j];
+                feed[j] = temp;
+            }
+        }
+        double[] copy = feed.clone();
+
+        double[] expected = new A_VideoRegistrator().calcStartTimesArray(feed, 1.5);
+        assertTrue("calcStartTimes changed events", Arrays.equals(copy, feed));
+
+        StreamingRegistrator.ArraySink starts = new StreamingRegistrator.ArraySink();
+        StreamingRegistrator registrator = new StreamingRegistrator(1.5, window, starts);
+        for (int from = 0; from < feed.length; from += 1000) {
+            registrator.accept(feed, from, Math.min(feed.length, from + 1000));
+        }
+        registrator.finish();
+        assertTrue("streaming failed", Arrays.equals(expected, starts.toArray()) && registrator.lateEvents() == 0);
+    }
+
+    @Test(timeout = 2000)
+    public void checkA_streamingLate() {
+        //окна нет: 1.5 и 1.6 опоздали, но уже покрыты сеансом [1, 2]
+        StreamingRegistrator.ArraySink starts = new StreamingRegistrator.ArraySink();
+        StreamingRegistrator registrator = new StreamingRegistrator(1, 0, starts);
+        registrator.accept(new double[]{1, 5, 1.5, 1.6}, 0, 4);
+        registrator.finish();
+        assertTrue("late covered failed", Arrays.equals(new double[]{1, 5}, starts.toArray()) && registrator.lateEvents() == 0);
+
+        //3 не покрыто и открывает сеанс [3, 4], который покрывает 3.5; 2.5 лежит между сеансами
+        starts = new StreamingRegistrator.ArraySink();
+        registrator = new StreamingRegistrator(1, 0, starts);
+        registrator.accept(new double[]{1, 5, 3, 3.5, 2.5, 2.9, 1.2}, 0, 7);
+        registrator.finish();
+        assertTrue("late uncovered failed", Arrays.equals(new double[]{1, 5, 3, 2.5}, starts.toArray()) && registrator.lateEvents() == 2);
+
+        //опоздание дальше хранимой истории сеансов считается непокрытым
+        starts = new StreamingRegistrator.ArraySink();
+        registrator = new StreamingRegistrator(1, 0, starts);
+        int sessions = StreamingRegistrator.HISTORY + 50;
+        for (int i = 0; i < sessions; i++) {
+            registrator.accept(10 * i);
+        }
+        registrator.accept(0.5);
+        registrator.accept(10 * (sessions - 10) + 0.5);
+        registrator.finish();
+        assertTrue("late history failed", starts.size() == sessions + 1 && starts.get(sessions) == 0.5 && registrator.lateEvents() == 1);
+    }
+
     @Test(timeout = 2000)
     public void checkB_sheduler() {
         B_Sheduler instance = new B_Sheduler();
@@ -43,6 +111,61 @@ public class Lesson02Test {
         assertTrue("B_Sheduler failed", ok);
     }
 
+    @Test(timeout = 2000)
+    public void checkB_rooms() {
+        Random random = new Random(451003);
+        for (int round = 0; round < 300; round++) {
+            int n = 1 + random.nextInt(8);
+            int rooms = 1 + random.nextInt(3);
+            int[] starts = new int[n];
+            int[] stops = new int[n];
+            for (int i = 0; i < n; i++) {
+                starts[i] = random.nextInt(10);
+                stops[i] = starts[i] + 1 + random.nextInt(5);
+            }
+            IntervalScheduler scheduler = new IntervalScheduler(starts, stops);
+            int[] assigned = scheduler.assignRooms(rooms, 0, 14);
+
+            int accepted = 0;
+            for (int i = 0; i < n; i++) {
+                if (assigned[i] >= 0) accepted++;
+            }
+            boolean ok = valid(starts, stops, assigned, rooms)
+                    && accepted == bestAccepted(starts, stops, rooms, 0, new int[n])
+                    && (rooms > 1 || accepted == scheduler.select(0, 14).length);
+            assertTrue("B rooms failed, round " + round, ok);
+        }
+    }
+
+    //перебор всех назначений: событие i в аудиторию 0..rooms-1 или никуда
+    private static int bestAccepted(int[] starts, int[] stops, int rooms, int i, int[] assigned) {
+        if (i == starts.length) {
+            if (!valid(starts, stops, assigned, rooms)) return -1;
+            int accepted = 0;
+            for (int room : assigned) {
+                if (room >= 0) accepted++;
+            }
+            return accepted;
+        }
+        int best = -1;
+        for (int room = -1; room < rooms; room++) {
+            assigned[i] = room;
+            best = Math.max(best, bestAccepted(starts, stops, rooms, i + 1, assigned));
+        }
+        return best;
+    }
+
+    private static boolean valid(int[] starts, int[] stops, int[] assigned, int rooms) {
+        for (int i = 0; i < starts.length; i++) {
+            if (assigned[i] >= rooms) return false;
+            for (int j = i + 1; j < starts.length; j++) {
+                if (assigned[i] >= 0 && assigned[i] == assigned[j]
+                        && starts[i] < stops[j] && starts[j] < stops[i]) return false;
+            }
+        }
+        return true;
+    }
+
     @Test(timeout = 2000)
     public void checkC_greedyKnapsack() throws Exception {
         InputStream inputStream = C_GreedyKnapsack.class.getResourceAsStream("greedyKnapsack.txt");
@@ -51,4 +174,137 @@ public class Lesson02Test {
         assertTrue("B_Sheduler failed", ok);
     }
 
+    @Test(timeout = 2000)
+    public void checkC_fractional() {
+        Random random = new Random(451003);
+        for (int round = 0; round < 200; round++) {
+            int n = 1 + random.nextInt(300);
+            int[] costs = new int[n];
+            int[] weights = new int[n];
+            for (int i = 0; i < n; i++) {
+                //близкие удельные стоимости, которые целочисленное деление не различает
+                weights[i] = random.nextInt(round % 2 == 0 ? 1000 : 3);
+                costs[i] = weights[i] * 7 + random.nextInt(5);
+            }
+            long capacity = random.nextInt(100 * n);
+
+            //эталон: предметы нулевого веса целиком, остальные - сортировкой
+            //по убыванию c/w через точное сравнение c1*w2 и c2*w1
+            double expected = 0;
+            List<Integer> order = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                if (weights[i] == 0) expected += costs[i];
+                else order.add(i);
+            }
+            order.sort((x, y) -> Long.compare((long) costs[y] * weights[x], (long) costs[x] * weights[y]));
+            long left = capacity;
+            for (int i : order) {
+                if (weights[i] <= left) {
+                    left -= weights[i];
+                    expected += costs[i];
+                } else {
+                    expected += (double) costs[i] * left / weights[i];
+                    break;
+                }
+            }
+
+            double result = FractionalKnapsack.solve(costs.clone(), weights.clone(), capacity);
+            assertTrue("C fractional failed, round " + round, Math.abs(result - expected) < 1e-6);
+        }
+    }
+
+    @Test
+    public void checkC_fractionalMixedSigns() {
+        //невыгодные предметы (стоимость <= 0) не берутся, даже если место остается
+        assertTrue("C mixed signs failed", FractionalKnapsack.solve(new int[]{10, 1, -20}, new int[]{1, 1, 1}, 3) == 11.0);
+        assertTrue("C mixed signs failed", FractionalKnapsack.solve(new int[]{-5, 0, -1}, new int[]{2, 1, 0}, 10) == 0.0);
+        assertTrue("C mixed signs failed", FractionalKnapsack.solve(new int[]{-4, 6, 3}, new int[]{1, 4, 0}, 2) == 6.0);
+
+        Random random = new Random(451003);
+        for (int round = 0; round < 100; round++) {
+            int n = 1 + random.nextInt(50);
+            int[] costs = random.ints(n, -100, 100).toArray();
+            int[] weights = random.ints(n, 0, 20).toArray();
+            long capacity = random.nextInt(200);
+
+            double expected = 0;
+            List<Integer> order = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                if (costs[i] <= 0) continue;
+                if (weights[i] == 0) expected += costs[i];
+                else order.add(i);
+            }
+            order.sort((x, y) -> Long.compare((long) costs[y] * weights[x], (long) costs[x] * weights[y]));
+            long left = capacity;
+            for (int i : order) {
+                long take = Math.min(left, weights[i]);
+                expected += (double) costs[i] * take / weights[i];
+                left -= take;
+            }
+            double result = FractionalKnapsack.solve(costs.clone(), weights.clone(), capacity);
+            assertTrue("C mixed signs failed, round " + round, Math.abs(result - expected) < 1e-6);
+        }
+    }
+
+    @Test(timeout = 2000)
+    public void checkC_knapsack01() throws Exception {
+        InputStream inputStream = C_GreedyKnapsack.class.getResourceAsStream("greedyKnapsack.txt");
+        KnapsackInput input = KnapsackInput.read(inputStream);
+        assertTrue("0/1 knapsack failed", ZeroOneKnapsack.solve(input.costs, input.weights, input.capacity) == 180);
+
+        //невыгодный предмет не должен опускать верхнюю границу ниже оптимума
+        int[] mixedCosts = {10, 1, -20};
+        int[] mixedWeights = {1, 1, 1};
+        assertTrue("upper bound failed", FractionalKnapsack.upperBound(mixedCosts.clone(), mixedWeights.clone(), 3) == 11);
+        assertTrue("0/1 mixed signs failed", ZeroOneKnapsack.solve(mixedCosts, mixedWeights, 3) == 11);
+        assertTrue("MITM mixed signs failed", MeetInTheMiddleKnapsack.solve(mixedCosts, mixedWeights, 3) == 11);
+        assertTrue("bounded mixed signs failed", BoundedKnapsack.solve(mixedCosts, mixedWeights, new int[]{1, 1, 1}, 3) == 11);
+
+        Random random = new Random(451003);
+        for (int round = 0; round < 300; round++) {
+            int n = 1 + random.nextInt(12);
+            int[] costs = new int[n];
+            int[] weights = new int[n];
+            int[] counts = new int[n];
+            for (int i = 0; i < n; i++) {
+                //в каждом четвертом раунде есть и невыгодные предметы
+                costs[i] = round % 4 == 1 ? random.nextInt(200) - 100 : random.nextInt(100);
+                weights[i] = random.nextInt(round % 3 == 0 ? 3 : 40);
+                counts[i] = 1 + random.nextInt(5);
+            }
+            int capacity = random.nextInt(150);
+
+            //эталон: перебор всех подмножеств
+            long expected = 0;
+            for (int mask = 0; mask < 1 << n; mask++) {
+                long cost = 0, weight = 0;
+                for (int i = 0; i < n; i++) {
+                    if ((mask >> i & 1) != 0) {
+                        cost += costs[i];
+                        weight += weights[i];
+                    }
+                }
+                if (weight <= capacity) expected = Math.max(expected, cost);
+            }
+            boolean ok = ZeroOneKnapsack.solve(costs, weights, capacity) == expected
+                    && MeetInTheMiddleKnapsack.solve(costs, weights, capacity) == expected;
+            assertTrue("0/1 knapsack failed, round " + round, ok);
+
+            //ограниченный рюкзак против 0/1 с повторенными предметами
+            int total = 0;
+            for (int count : counts) total += count;
+            int[] repeatedCosts = new int[total];
+            int[] repeatedWeights = new int[total];
+            for (int i = 0, k = 0; i < n; i++) {
+                for (int copy = 0; copy < counts[i]; copy++, k++) {
+                    repeatedCosts[k] = costs[i];
+                    repeatedWeights[k] = weights[i];
+                }
+            }
+            ok = BoundedKnapsack.solve(costs, weights, counts, capacity)
+                    == ZeroOneKnapsack.solve(repeatedCosts, repeatedWeights, capacity);
+            assertTrue("bounded knapsack failed, round " + round, ok);
+        }
+    }
+
 }
@@ -0,0 +1,182 @@
+package by.it.group451003.kishkov.lesson02;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+
+/*
+Потоковый вариант жадного регистратора из A_VideoRegistrator.
+
+События приходят по одному или пачками и почти упорядочены по времени:
+каждое может опоздать не более чем на window позиций. Такие события
+проходят через окно переупорядочивания - двоичную min-кучу на double[]
+размером window, - и в жадный шаг попадают уже по возрастанию. Глобальной
+сортировки и упаковки в Double нет, моменты старта сразу отдаются в sink.
+
+Надежный шаг тот же: первое непокрытое событие t запускает регистратор
+на [t, t + workDuration]. Если событие опоздало сильнее окна и оказалось
+раньше последнего старта, оно ищется среди уже выданных сеансов: их старты
+хранятся по возрастанию, и двоичный поиск находит ближайший старт не позже t.
+Покрытое событие пропускается, непокрытое регистрируется отдельным включением
+в свой момент t (такие события считает lateEvents()). Помнятся только последние
+сеансы - от HISTORY / 2 до HISTORY штук; событие, опоздавшее дальше них,
+считается непокрытым.
+
+Экземпляр не потокобезопасен.
+*/
+
+public class StreamingRegistrator {
+
+    //сколько последних сеансов хранится для проверки опоздавших событий
+    static final int HISTORY = 256;
+
+    private final double workDuration;
+    private final DoubleConsumer sink;
+
+    //окно переупорядочивания: min-куча, в которой держится не больше window событий
+    private final double[] heap;
+    private final int window;
+    private int size = 0;
+
+    //старты выданных сеансов по возрастанию; последний - текущий сеанс
+    private final double[] sessions = new double[HISTORY];
+    private int sessionCount = 0;
+    private double lastEnd;
+    private long lateEvents = 0;
+
+    public StreamingRegistrator(double workDuration, int window, DoubleConsumer sink) {
+        if (window < 0) {
+            throw new IllegalArgumentException("window < 0: " + window);
+        }
+        this.workDuration = workDuration;
+        this.window = window;
+        this.sink = sink;
+        heap = new double[window + 1];
+    }
+
+    public void accept(double event) {
+        push(event);
+        if (size > window) {
+            register(pop());
+        }
+    }
+
+    public void accept(double[] events, int from, int to) {
+        for (int i = from; i < to; i++) {
+            accept(events[i]);
+        }
+    }
+
+    //конец потока: оставшиеся в окне события обрабатываются по возрастанию
+    public void finish() {
+        while (size > 0) {
+            register(pop());
+        }
+    }
+
+    public long lateEvents() {
+        return lateEvents;
+    }
+
+    private void register(double event) {
+        if (sessionCount == 0 || event > lastEnd) {
+            lastEnd = event + workDuration;
+            addSession(sessionCount, event);
+            sink.accept(event);
+        } else if (event < sessions[sessionCount - 1]) {
+            //текущий сеанс уже начался позже: ищем более ранний сеанс, покрывающий событие
+            int i = lastStartNotAfter(event);
+            if (i < 0 || event > sessions[i] + workDuration) {
+                lateEvents++;
+                addSession(i + 1, event);
+                sink.accept(event);
+            }
+        }
+    }
+
+    //индекс последнего старта, не большего value, или -1
+    private int lastStartNotAfter(double value) {
+        int low = 0;
+        int high = sessionCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (sessions[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    //вставка старта на позицию index; при заполнении забывается более ранняя половина истории
+    private void addSession(int index, double start) {
+        if (sessionCount == HISTORY) {
+            int dropped = HISTORY / 2;
+            System.arraycopy(sessions, dropped, sessions, 0, HISTORY - dropped);
+            sessionCount -= dropped;
+            index = Math.max(0, index - dropped);
+        }
+        System.arraycopy(sessions, index, sessions, index + 1, sessionCount - index);
+        sessions[index] = start;
+        sessionCount++;
+    }
+
+    private void push(double value) {
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    private double pop() {
+        double top = heap[0];
+        double value = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (value <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
+        return top;
+    }
+
+    //приемник моментов старта в растущий double[]
+    public static class ArraySink implements DoubleConsumer {
+        private double[] values = new double[16];
+        private int size = 0;
+
+        @Override
+        public void accept(double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public double get(int i) {
+            return values[i];
+        }
+
+        public double[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package by.it.group451003.kishkov.lesson02.knapsack;
+
+import java.util.Arrays;
+
+/*
+Ограниченный рюкзак: предмет i есть в counts[i] экземплярах.
+
+Двоичное разбиение: counts[i] экземпляров заменяются пачками по
+1, 2, 4, ..., 2^(k-1) и остаток, и любое количество от 0 до counts[i]
+набирается из этих пачек ровно одним подмножеством. Получается рюкзак 0/1
+из O(sum log counts[i]) предметов, который решает ZeroOneKnapsack
+со своей границей дробного рюкзака.
+Пачки тяжелее рюкзака не создаются: их все равно нельзя взять.
+*/
+
+public class BoundedKnapsack {
+
+    private BoundedKnapsack() {
+    }
+
+    //стоимость пачки должна помещаться в int, иначе ArithmeticException
+    public static long solve(int[] costs, int[] weights, int[] counts, int capacity) {
+        int total = 0;
+        for (int count : counts) {
+            total += 32 - Integer.numberOfLeadingZeros(count);
+        }
+        int[] packCosts = new int[total];
+        int[] packWeights = new int[total];
+        int packs = 0;
+
+        for (int i = 0; i < costs.length; i++) {
+            int left = counts[i];
+            for (int size = 1; left > 0; size <<= 1) {
+                int take = Math.min(size, left);
+                left -= take;
+                if ((long) weights[i] * take > capacity) {
+                    break;
+                }
+                packCosts[packs] = Math.multiplyExact(costs[i], take);
+                packWeights[packs] = weights[i] * take;
+                packs++;
+            }
+        }
+        return ZeroOneKnapsack.solve(Arrays.copyOf(packCosts, packs),
+                Arrays.copyOf(packWeights, packs), capacity);
+    }
+}
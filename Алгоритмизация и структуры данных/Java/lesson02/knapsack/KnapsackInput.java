@@ -0,0 +1,46 @@
+package by.it.group451003.kishkov.lesson02.knapsack;
+
+import by.it.group451003.kishkov.io.FastReader;
+
+import java.io.InputStream;
+
+/*
+Набор предметов в формате greedyKnapsack.txt:
+    n W
+    cost[1] weight[1]
+    ...
+    cost[n] weight[n]
+Предметы хранятся двумя параллельными массивами.
+*/
+
+public class KnapsackInput {
+
+    public final int[] costs;
+    public final int[] weights;
+    public final int capacity;
+
+    public KnapsackInput(int[] costs, int[] weights, int capacity) {
+        this.costs = costs;
+        this.weights = weights;
+        this.capacity = capacity;
+    }
+
+    public static KnapsackInput read(InputStream stream) {
+        FastReader reader = new FastReader(stream);
+        KnapsackInput result = read(reader);
+        reader.close();
+        return result;
+    }
+
+    public static KnapsackInput read(FastReader reader) {
+        int n = reader.nextInt();
+        int capacity = reader.nextInt();
+        int[] costs = new int[n];
+        int[] weights = new int[n];
+        for (int i = 0; i < n; i++) {
+            costs[i] = reader.nextInt();
+            weights[i] = reader.nextInt();
+        }
+        return new KnapsackInput(costs, weights, capacity);
+    }
+}
@@ -0,0 +1,98 @@
+package by.it.group451003.kishkov.lesson02.knapsack;
+
+import by.it.group451003.kishkov.lesson02.FractionalKnapsack;
+
+/*
+Рюкзак 0/1 для малого числа предметов (n <= 50) и сколь угодно большой
+вместимости, где массив на W + 1 ячеек не построить.
+
+Предметы делятся на две половины, для каждой строится список всех наборов
+(вес, стоимость) по возрастанию веса: добавление предмета сливает список
+с его же копией, сдвинутой на (w, c), так что сортировка не нужна.
+После каждого слияния выбрасываются наборы тяжелее рюкзака и доминируемые -
+не легче и не дороже другого набора, поэтому в списке остается парето-фронт
+со строго растущей стоимостью, часто гораздо короче 2^(n/2).
+Ответ - максимум суммы стоимостей по парам, совместным по весу, которые
+перебираются двумя указателями навстречу друг другу.
+
+Граница дробного рюкзака отсекает перебор пар, как только ответ ее достиг.
+*/
+
+public class MeetInTheMiddleKnapsack {
+
+    public static final int MAX_ITEMS = 50;
+
+    private MeetInTheMiddleKnapsack() {
+    }
+
+    public static long solve(int[] costs, int[] weights, long capacity) {
+        int n = costs.length;
+        if (n > MAX_ITEMS) {
+            throw new IllegalArgumentException("too many items for meet-in-the-middle: " + n);
+        }
+        long bound = FractionalKnapsack.upperBound(costs.clone(), weights.clone(), capacity);
+
+        Front left = new Front(capacity);
+        Front right = new Front(capacity);
+        for (int i = 0; i < n; i++) {
+            if (costs[i] > 0) {
+                (i < n / 2 ? left : right).add(costs[i], weights[i]);
+            }
+        }
+
+        //left по возрастанию веса, right - по убыванию: вес пары не растет
+        long best = 0;
+        int j = right.size - 1;
+        for (int i = 0; i < left.size && best < bound; i++) {
+            while (left.weights[i] + right.weights[j] > capacity) {
+                j--;
+            }
+            best = Math.max(best, left.costs[i] + right.costs[j]);
+        }
+        return best;
+    }
+
+    //парето-фронт наборов: веса и стоимости строго возрастают, первый элемент - пустой набор
+    private static final class Front {
+        private final long capacity;
+        private long[] weights = {0};
+        private long[] costs = {0};
+        private int size = 1;
+
+        Front(long capacity) {
+            this.capacity = capacity;
+        }
+
+        void add(long cost, long weight) {
+            long[] mergedWeights = new long[2 * size];
+            long[] mergedCosts = new long[2 * size];
+            int count = 0;
+            int a = 0;
+            int b = 0;
+            while (a < size || b < size) {
+                long w;
+                long c;
+                //при равных весах первым идет более дорогой набор
+                if (b == size || a < size && (weights[a] < weights[b] + weight
+                        || weights[a] == weights[b] + weight && costs[a] >= costs[b] + cost)) {
+                    w = weights[a];
+                    c = costs[a++];
+                } else {
+                    w = weights[b] + weight;
+                    c = costs[b++] + cost;
+                }
+                //w - меньший из весов в головах обоих списков, дальше только тяжелее
+                if (w > capacity) {
+                    break;
+                }
+                if (count == 0 || c > mergedCosts[count - 1]) {
+                    mergedWeights[count] = w;
+                    mergedCosts[count++] = c;
+                }
+            }
+            weights = mergedWeights;
+            costs = mergedCosts;
+            size = count;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package by.it.group451003.kishkov.lesson02.knapsack;
+
+import by.it.group451003.kishkov.lesson02.C_GreedyKnapsack;
+import by.it.group451003.kishkov.lesson02.FractionalKnapsack;
+
+import java.io.InputStream;
+
+/*
+Рюкзак 0/1: каждый предмет берется целиком или не берется.
+
+Динамика по вместимости в одном массиве best[0..W]: best[j] - наибольшая
+стоимость набора из уже просмотренных предметов весом не больше j.
+Очередной предмет (c, w) обновляет массив справа налево,
+    best[j] = max(best[j], best[j - w] + c),
+чтобы не взять его дважды. Память O(W), время O(n * W).
+
+Отсечение: ответ не больше целой части решения дробного рюкзака
+(FractionalKnapsack.upperBound). Предметы просматриваются по убыванию
+удельной стоимости, и как только best[W] достигает этой границы,
+оставшиеся предметы уже ничего не улучшат.
+*/
+
+public class ZeroOneKnapsack {
+
+    private ZeroOneKnapsack() {
+    }
+
+    public static void main(String[] args) {
+        InputStream stream = C_GreedyKnapsack.class.getResourceAsStream("greedyKnapsack.txt");
+        KnapsackInput input = KnapsackInput.read(stream);
+        System.out.println(solve(input.costs, input.weights, input.capacity));
+    }
+
+    public static long solve(int[] costs, int[] weights, int capacity) {
+        int n = costs.length;
+        long bound = FractionalKnapsack.upperBound(costs.clone(), weights.clone(), capacity);
+
+        //предметы нулевого веса берутся сразу, невыгодные и не влезающие отбрасываются
+        long base = 0;
+        int count = 0;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (weights[i] == 0) {
+                base += Math.max(costs[i], 0);
+            } else if (costs[i] > 0 && weights[i] <= capacity) {
+                order[count++] = i;
+            }
+        }
+        sortByRatio(order, count, costs, weights);
+
+        long[] best = new long[capacity + 1];
+        //наибольший вес, которого могут достичь просмотренные предметы:
+        //дальше best[j] == best[reach], и эти ячейки не трогаются
+        int reach = 0;
+        for (int k = 0; k < count && base + best[reach] < bound; k++) {
+            int i = order[k];
+            long c = costs[i];
+            int w = weights[i];
+            int previous = reach;
+            reach = (int) Math.min(capacity, (long) reach + w);
+            for (int j = reach; j > previous; j--) {
+                best[j] = j >= w ? Math.max(best[previous], best[j - w] + c) : best[previous];
+            }
+            for (int j = previous; j >= w; j--) {
+                best[j] = Math.max(best[j], best[j - w] + c);
+            }
+        }
+        return base + best[reach];
+    }
+
+    //номера по убыванию cost/weight (веса положительные), сравнение c1*w2 и c2*w1 в long;
+    //сортировка Шелла, чтобы не упаковывать номера в Integer ради компаратора
+    static void sortByRatio(int[] order, int count, int[] costs, int[] weights) {
+        int gap = 1;
+        while (gap < count / 3) {
+            gap = 3 * gap + 1;
+        }
+        for (; gap > 0; gap /= 3) {
+            for (int i = gap; i < count; i++) {
+                int item = order[i];
+                long c = costs[item];
+                long w = weights[item];
+                int j = i;
+                while (j >= gap && (long) costs[order[j - gap]] * w < c * weights[order[j - gap]]) {
+                    order[j] = order[j - gap];
+                    j -= gap;
+                }
+                order[j] = item;
+            }
+        }
+    }
+}
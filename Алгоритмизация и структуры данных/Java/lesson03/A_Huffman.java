@@ -2,6 +2,7 @@ package by.it.group451003.kishkov.lesson03;
 
 import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 //Lesson 3. A_Huffman.
@@ -40,8 +41,10 @@ import java.util.*;
 
 public class A_Huffman {
 
-    //индекс данных из листьев
-    static private final Map<Character, String> codes = new TreeMap<>();
+    //индекс данных из листьев: коды символов строками, для вывода в формате "letter: code"
+    private final Map<Character, String> codes = new TreeMap<>();
+    //канонический код последней закодированной строки
+    private HuffmanCode code;
 
     public static void main(String[] args) throws FileNotFoundException {
         InputStream inputStream = A_Huffman.class.getResourceAsStream("dataA.txt");
@@ -49,8 +52,8 @@ public class A_Huffman {
         long startTime = System.currentTimeMillis();
         String result = instance.encode(inputStream);
         long finishTime = System.currentTimeMillis();
-        System.out.printf("%d %d\n", codes.size(), result.length());
-        for (Map.Entry<Character, String> entry : codes.entrySet()) {
+        System.out.printf("%d %d\n", instance.codes.size(), result.length());
+        for (Map.Entry<Character, String> entry : instance.codes.entrySet()) {
             System.out.printf("%s: %s\n", entry.getKey(), entry.getValue());
         }
         System.out.println(result);
@@ -60,72 +63,180 @@ public class A_Huffman {
     String encode(InputStream inputStream) throws FileNotFoundException {
         Scanner scanner = new Scanner(inputStream);
         String s = scanner.next();
+        return encode(s);
+    }
+
+    //закодированная строка в текстовом виде, из символов '0' и '1'
+    String encode(String s) {
+        long[] frequencies = frequencies(s);
+        code = HuffmanCode.build(frequencies);
+
+        codes.clear();
+        for (int symbol = 0; symbol < frequencies.length; symbol++) {
+            if (code.length(symbol) > 0) {
+                codes.put((char) symbol, code.text(symbol));
+            }
+        }
 
-        Map<Character, Integer> count = new HashMap<>();
-        for (char c : s.toCharArray()) {
-            count.put(c, count.getOrDefault(c, 0) + 1);
+        StringBuilder sb = new StringBuilder((int) Math.min(Integer.MAX_VALUE - 8, code.bitLength(frequencies)));
+        for (int i = 0; i < s.length(); i++) {
+            code.appendText(s.charAt(i), sb);
         }
+        return sb.toString();
+    }
+
+    //те же биты, но упакованные по 8 в байт; длина в битах - code().bitLength(...)
+    byte[] encodePacked(String s) {
+        long[] frequencies = frequencies(s);
+        code = HuffmanCode.build(frequencies);
+
+        BitWriter out = new BitWriter((int) ((code.bitLength(frequencies) + 7) >>> 3));
+        for (int i = 0; i < s.length(); i++) {
+            code.write(s.charAt(i), out);
+        }
+        return out.toByteArray();
+    }
+
+    /*
+    Самодостаточный двоичный формат (читает B_Huffman.decodePacked):
+        int    k        - размер алфавита
+        byte[] lengths  - k длин канонических кодов, по ним код восстанавливается
+        long   bits     - число значимых бит
+        byte[] data     - сами биты, последний байт дополнен нулями
+    Все числа - big-endian.
+    */
+    byte[] encodeBinary(String s) {
+        byte[] data = encodePacked(s);
+        byte[] lengths = code.lengths();
+        long bits = code.bitLength(frequencies(s));
+        return ByteBuffer.allocate(4 + lengths.length + 8 + data.length)
+                .putInt(lengths.length)
+                .put(lengths)
+                .putLong(bits)
+                .put(data)
+                .array();
+    }
+
+    HuffmanCode code() {
+        return code;
+    }
+
+    //частоты символов; алфавит - от 0 до наибольшего символа строки
+    static long[] frequencies(CharSequence s) {
+        int max = 0;
+        for (int i = 0; i < s.length(); i++) {
+            max = Math.max(max, s.charAt(i));
+        }
+        long[] frequencies = new long[max + 1];
+        for (int i = 0; i < s.length(); i++) {
+            frequencies[s.charAt(i)]++;
+        }
+        return frequencies;
+    }
+
+    //длины кодов Хаффмана для частот frequencies[symbol], не длиннее maxLength.
+    //Если дерево оказалось глубже, частоты огрубляются вдвое (ненулевые остаются
+    //ненулевыми) и дерево строится заново: при равных частотах его глубина
+    //всего ceil(log2 k), так что процесс сходится за несколько шагов
+    static byte[] codeLengths(long[] frequencies, int maxLength) {
+        long used = 0;
+        for (long frequency : frequencies) {
+            if (frequency > 0) used++;
+        }
+        if (used > 1L << maxLength) {
+            throw new IllegalArgumentException("alphabet does not fit into codes of length " + maxLength);
+        }
+
+        long[] weights = frequencies.clone();
+        while (true) {
+            int[] depths = treeDepths(weights);
+            int max = 0;
+            for (int depth : depths) {
+                max = Math.max(max, depth);
+            }
+            if (max <= maxLength) {
+                byte[] lengths = new byte[depths.length];
+                for (int symbol = 0; symbol < depths.length; symbol++) {
+                    lengths[symbol] = (byte) depths[symbol];
+                }
+                return lengths;
+            }
+            for (int symbol = 0; symbol < weights.length; symbol++) {
+                if (weights[symbol] > 0) {
+                    weights[symbol] = (weights[symbol] + 1) >>> 1;
+                }
+            }
+        }
+    }
+
+    //глубины листьев дерева Хаффмана. Частоты - long, поэтому глубина дерева
+    //не больше ~90 (иначе сумма частот превысила бы числа Фибоначчи за пределами long)
+    private static int[] treeDepths(long[] frequencies) {
+        int[] depths = new int[frequencies.length];
 
         PriorityQueue<Node> priorityQueue = new PriorityQueue<>();
-        for (Map.Entry<Character, Integer> entry : count.entrySet()) {
-            priorityQueue.add(new LeafNode(entry.getValue(), entry.getKey()));
+        for (int symbol = 0; symbol < frequencies.length; symbol++) {
+            if (frequencies[symbol] > 0) {
+                priorityQueue.add(new LeafNode(frequencies[symbol], symbol));
+            }
         }
 
+        //единственному символу все равно нужен код длины 1
         if (priorityQueue.size() == 1) {
-            priorityQueue.add(new LeafNode(0, '\0'));
+            depths[((LeafNode) priorityQueue.poll()).symbol] = 1;
+            return depths;
         }
 
+        int order = frequencies.length;
         while (priorityQueue.size() > 1) {
             Node left = priorityQueue.poll();
             Node right = priorityQueue.poll();
-            Node parent = new InternalNode(left, right);
+            Node parent = new InternalNode(left, right, order++);
             priorityQueue.add(parent);
         }
 
         Node root = priorityQueue.poll();
         if (root != null) {
-            root.fillCodes("");
+            root.fillDepths(0, depths);
         }
-
-        StringBuilder sb = new StringBuilder();
-        for (char c : s.toCharArray()) {
-            sb.append(codes.get(c));
-        }
-
-        return sb.toString();
+        return depths;
     }
 
     //Изучите классы Node InternalNode LeafNode
-    abstract class Node implements Comparable<Node> {
-        private final int frequence;
+    abstract static class Node implements Comparable<Node> {
+        private final long frequence;
+        //при равных частотах порядок узлов фиксирован: дерево не зависит от реализации очереди
+        private final int order;
 
-        private Node(int frequence) {
+        private Node(long frequence, int order) {
             this.frequence = frequence;
+            this.order = order;
         }
 
-        abstract void fillCodes(String code);
+        abstract void fillDepths(int depth, int[] depths);
 
         @Override
         public int compareTo(Node o) {
-            return Integer.compare(frequence, o.frequence);
+            int result = Long.compare(frequence, o.frequence);
+            return result != 0 ? result : Integer.compare(order, o.order);
         }
     }
 
     ////////////////////////////////////////////////////////////////////////////////////
-    private class InternalNode extends Node {
+    private static class InternalNode extends Node {
         Node left;
         Node right;
 
-        InternalNode(Node left, Node right) {
-            super(left.frequence + right.frequence);
+        InternalNode(Node left, Node right, int order) {
+            super(left.frequence + right.frequence, order);
             this.left = left;
             this.right = right;
         }
 
         @Override
-        void fillCodes(String code) {
-            left.fillCodes(code + "0");
-            right.fillCodes(code + "1");
+        void fillDepths(int depth, int[] depths) {
+            left.fillDepths(depth + 1, depths);
+            right.fillDepths(depth + 1, depths);
         }
 
     }
@@ -133,20 +244,20 @@ public class A_Huffman {
 
     ////////////////////////////////////////////////////////////////////////////////////
     //расширение базового класса до листа дерева
-    private class LeafNode extends Node {
+    private static class LeafNode extends Node {
         //лист
-        char symbol; //символы хранятся только в листах
+        int symbol; //символы хранятся только в листах
 
-        LeafNode(int frequence, char symbol) {
-            super(frequence);
+        LeafNode(long frequence, int symbol) {
+            super(frequence, symbol);
             this.symbol = symbol;
         }
 
         @Override
-        void fillCodes(String code) {
-            //добрались до листа, значит рекурсия закончена, код уже готов
-            //и можно запомнить его в индексе для поиска кода по символу.
-            codes.put(this.symbol, code);
+        void fillDepths(int depth, int[] depths) {
+            //добрались до листа, значит рекурсия закончена, глубина листа -
+            //это длина кода символа; сами коды назначает HuffmanCode
+            depths[this.symbol] = depth;
         }
     }
 
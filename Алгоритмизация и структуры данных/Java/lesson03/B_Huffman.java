@@ -1,10 +1,10 @@
 package by.it.group451003.kishkov.lesson03;
 
+import by.it.group451003.kishkov.io.FastReader;
+
 import java.io.FileNotFoundException;
 import java.io.InputStream;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Scanner;
+import java.nio.ByteBuffer;
 
 // Lesson 3. B_Huffman.
 // Восстановите строку по её коду и беспрефиксному коду символов.
@@ -52,35 +52,61 @@ public class B_Huffman {
     }
 
     String decode(InputStream inputStream) throws FileNotFoundException {
-        StringBuilder result = new StringBuilder();
-        Scanner scanner = new Scanner(inputStream);
-
-        int k = scanner.nextInt();
-        int l = scanner.nextInt();
-        scanner.nextLine();
+        FastReader reader = new FastReader(inputStream);
 
-        Map<String, Character> codeToChar = new HashMap<>();
+        int k = reader.nextInt();
+        int l = reader.nextInt();
 
+        //коды букв в формате "letter: code", буквы в любом порядке
+        char[] letters = new char[k];
+        String[] texts = new String[k];
+        int maxLetter = 0;
         for (int i = 0; i < k; i++) {
-            String line = scanner.nextLine();
-            String[] parts = line.split(": ");
-            char letter = parts[0].charAt(0);
-            String code = parts[1];
-            codeToChar.put(code, letter);
+            letters[i] = reader.next().charAt(0);
+            texts[i] = reader.next();
+            maxLetter = Math.max(maxLetter, letters[i]);
+        }
+        int[] codes = new int[maxLetter + 1];
+        byte[] lengths = new byte[maxLetter + 1];
+        for (int i = 0; i < k; i++) {
+            if (texts[i].length() > HuffmanDecoder.MAX_LENGTH) {
+                throw new IllegalArgumentException("code is too long: " + texts[i]);
+            }
+            codes[letters[i]] = (int) Long.parseLong(texts[i], 2);
+            lengths[letters[i]] = (byte) texts[i].length();
         }
 
-        String encoded = scanner.nextLine();
-
-        StringBuilder currentCode = new StringBuilder();
-        for (char bit : encoded.toCharArray()) {
-            currentCode.append(bit);
-            if (codeToChar.containsKey(currentCode.toString())) {
-                result.append(codeToChar.get(currentCode.toString()));
-                currentCode.setLength(0);
+        //строку из '0' и '1' упаковываем в биты и декодируем таблицей
+        String encoded = reader.next();
+        reader.close();
+        if (encoded.length() != l) {
+            throw new IllegalArgumentException("encoded length " + encoded.length() + " != " + l);
+        }
+        BitWriter bits = new BitWriter((l + 7) / 8);
+        for (int i = 0; i < encoded.length(); i++) {
+            char c = encoded.charAt(i);
+            if (c != '0' && c != '1') {
+                throw new IllegalArgumentException("bad bit '" + c + "' at " + i);
             }
+            bits.write(c - '0', 1);
+        }
+        HuffmanDecoder decoder = new HuffmanDecoder(codes, lengths);
+        return decoder.decodeText(new BitReader(bits.toByteArray()), bits.bitCount());
+    }
+
+    //двоичный формат A_Huffman.encodeBinary
+    String decodePacked(byte[] packed) {
+        ByteBuffer buffer = ByteBuffer.wrap(packed);
+        byte[] lengths = new byte[buffer.getInt()];
+        buffer.get(lengths);
+        long bitCount = buffer.getLong();
+        if (bitCount < 0 || (bitCount + 7) / 8 > buffer.remaining()) {
+            throw new IllegalArgumentException("truncated data: " + bitCount + " bits");
         }
 
-        return result.toString();
+        HuffmanDecoder decoder = new HuffmanDecoder(HuffmanCode.fromLengths(lengths));
+        BitReader in = new BitReader(packed, buffer.position(), buffer.limit());
+        return decoder.decodeText(in, bitCount);
     }
 
 
@@ -0,0 +1,67 @@
+package by.it.group451003.kishkov.lesson03;
+
+/*
+Чтение упакованных бит из byte[] старшими битами вперед - пара к BitWriter.
+
+Биты подкачиваются в 64-битный буфер по байту, пока в нем не станет больше
+56 бит, так что peek(n) для n <= 32 почти всегда - один сдвиг и маска.
+За концом данных читаются нули: сколько бит на самом деле значимо, знает
+вызывающий код (по position()).
+*/
+
+public class BitReader {
+
+    private final byte[] data;
+    private final int end;
+    private int next;
+    private long buffer = 0;
+    private int count = 0;      //сколько младших бит буфера еще не прочитано
+    private long position = 0;
+
+    public BitReader(byte[] data) {
+        this(data, 0, data.length);
+    }
+
+    //биты байтов data[from..to)
+    public BitReader(byte[] data, int from, int to) {
+        this.data = data;
+        this.next = from;
+        this.end = to;
+    }
+
+    //следующие n бит (n <= 32) без продвижения
+    public int peek(int n) {
+        if (count < n) {
+            refill();
+        }
+        return (int) ((buffer >>> (count - n)) & ((1L << n) - 1));
+    }
+
+    public void skip(int n) {
+        if (count < n) {
+            refill();
+        }
+        count -= n;
+        position += n;
+    }
+
+    public int read(int n) {
+        int result = peek(n);
+        count -= n;
+        position += n;
+        return result;
+    }
+
+    //сколько бит уже прочитано
+    public long position() {
+        return position;
+    }
+
+    private void refill() {
+        while (count <= 56) {
+            buffer = (buffer << 8) | (next < end ? data[next] & 0xFF : 0);
+            next++;
+            count += 8;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package by.it.group451003.kishkov.lesson03;
+
+import java.util.Arrays;
+
+/*
+Запись кодов переменной длины в упакованный byte[], старшими битами вперед.
+
+Коды копятся в 64-битном аккумуляторе; как только в нем набирается
+32 бита, они одной операцией уходят в массив четырьмя байтами.
+Длина одного кода - от 0 до 32 бит. Последний байт дополняется нулями.
+*/
+
+public class BitWriter {
+
+    private byte[] buffer;
+    private int position = 0;
+    private long accumulator = 0;
+    private int pending = 0;     //сколько младших бит аккумулятора еще не записано
+    private long bitCount = 0;
+
+    public BitWriter() {
+        this(64);
+    }
+
+    public BitWriter(int expectedBytes) {
+        buffer = new byte[Math.max(expectedBytes, 8)];
+    }
+
+    public void write(int code, int length) {
+        accumulator = (accumulator << length) | (code & ((1L << length) - 1));
+        pending += length;
+        bitCount += length;
+        if (pending >= 32) {
+            pending -= 32;
+            int word = (int) (accumulator >>> pending);
+            ensure(4);
+            buffer[position] = (byte) (word >>> 24);
+            buffer[position + 1] = (byte) (word >>> 16);
+            buffer[position + 2] = (byte) (word >>> 8);
+            buffer[position + 3] = (byte) word;
+            position += 4;
+        }
+    }
+
+    //дописывает все биты other; полные байты other идут словами по 32 бита
+    public void write(BitWriter other) {
+        byte[] words = other.buffer;
+        for (int i = 0; i < other.position; i += 4) {
+            write((words[i] & 0xFF) << 24 | (words[i + 1] & 0xFF) << 16 | (words[i + 2] & 0xFF) << 8 | (words[i + 3] & 0xFF), 32);
+        }
+        write((int) other.accumulator, other.pending);
+    }
+
+    //число записанных бит, без дополнения до байта
+    public long bitCount() {
+        return bitCount;
+    }
+
+    //записанные биты; дописывать после этого можно, хвост просто не войдет в результат
+    public byte[] toByteArray() {
+        byte[] result = Arrays.copyOf(buffer, (int) ((bitCount + 7) >>> 3));
+        int bits = pending;
+        int index = position;
+        while (bits > 0) {
+            bits -= 8;
+            result[index++] = (byte) (bits >= 0 ? accumulator >>> bits : accumulator << -bits);
+        }
+        return result;
+    }
+
+    private void ensure(int bytes) {
+        if (position + bytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+        }
+    }
+}
@@ -1,10 +1,10 @@
 package by.it.group451003.kishkov.lesson03;
 
+import by.it.group451003.kishkov.io.FastReader;
+
 import java.io.FileNotFoundException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Scanner;
+import java.util.InputMismatchException;
 
 // Lesson 3. C_Heap.
 // Задача: построить max-кучу = пирамиду = бинарное сбалансированное дерево на массиве.
@@ -44,98 +44,35 @@ public class C_HeapMax {
 
     //эта процедура читает данные из файла, ее можно не менять.
     Long findMaxValue(InputStream stream) {
-        Long maxValue = 0L;
-        MaxHeap heap = new MaxHeap();
-        //прочитаем строку для кодирования из тестового файла
-        Scanner scanner = new Scanner(stream);
-        Integer count = scanner.nextInt();
-        for (int i = 0; i < count; ) {
-            String s = scanner.nextLine();
-            if (s.equalsIgnoreCase("extractMax")) {
-                Long res = heap.extractMax();
-                if (res != null && res > maxValue) maxValue = res;
-                System.out.println();
-                i++;
-            }
-            if (s.contains(" ")) {
-                String[] p = s.split(" ");
-                if (p[0].equalsIgnoreCase("insert"))
-                    heap.insert(Long.parseLong(p[1]));
-                i++;
-                //System.out.println(heap); //debug
-            }
-        }
+        FastReader reader = new FastReader(stream);
+        Long maxValue = findMaxValue(reader);
+        reader.close();
         return maxValue;
     }
 
-    private class MaxHeap {
-        //!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!! НАЧАЛО ЗАДАЧИ !!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!1
-        private List<Long> heap = new ArrayList<>();
-
-        int siftDown(int i) {
-            int largest = i;
-            int leftChild = 2 * i + 1;
-            int rightChild = 2 * i + 2;
-
-            if (leftChild < heap.size() && heap.get(leftChild) > heap.get(largest)) {
-                largest = leftChild;
-            }
-
-            if (rightChild < heap.size() && heap.get(rightChild) > heap.get(largest)) {
-                largest = rightChild;
-            }
-
-            if (largest != i) {
-                Long swap = heap.get(i);
-                heap.set(i, heap.get(largest));
-                heap.set(largest, swap);
-
-                siftDown(largest);
-            }
-
-            return i;
-        }
-
-        int siftUp(int i) {
-            if (i <= 0) {
-                return i;
-            }
-
-            int parentIndex = (i - 1) / 2;
-
-            if (heap.get(parentIndex) < heap.get(i)) {
-                Long temp = heap.get(i);
-                heap.set(i, heap.get(parentIndex));
-                heap.set(parentIndex, temp);
-
-                return siftUp(parentIndex);
-            }
-
-            return i;
-        }
-
-        void insert(Long value) {
-            heap.add(value);
-            siftUp(heap.size() - 1);
-        }
-
-        Long extractMax() {
-            Long result = null;
-
-            if (!heap.isEmpty()) {
-                result = heap.get(0);
-
-                Long lastElement = heap.remove(heap.size() - 1);
-
+    private static final String[] COMMANDS = {"insert", "extractmax"};
+    private static final int INSERT = 0;
+    private static final int EXTRACT_MAX = 1;
+
+    //команды читаются потокенно: "Insert x" или "ExtractMax", любая другая - ошибка входа
+    Long findMaxValue(FastReader reader) {
+        long maxValue = 0;
+        LongMaxHeap heap = new LongMaxHeap();
+        int count = reader.nextInt();
+        for (int i = 0; i < count; i++) {
+            int command = reader.nextWordIndexIgnoreCase(COMMANDS);
+            if (command == INSERT) {
+                heap.insert(reader.nextLong());
+            } else if (command == EXTRACT_MAX) {
                 if (!heap.isEmpty()) {
-                    heap.set(0, lastElement);
-                    siftDown(0);
+                    long res = heap.extractMax();
+                    if (res > maxValue) maxValue = res;
                 }
+            } else {
+                throw new InputMismatchException("unknown command");
             }
-
-            return result;
         }
-        //!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!! КОНЕЦ ЗАДАЧИ !!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!1
+        return maxValue;
     }
 
     // РЕМАРКА. Это задание исключительно учебное.
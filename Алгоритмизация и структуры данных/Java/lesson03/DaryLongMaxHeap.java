@@ -0,0 +1,106 @@
+package by.it.group451003.kishkov.lesson03;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/*
+d-арная max-куча на long[] (d - степень двойки, обычно 4 или 8).
+
+Дерево ниже двоичного: log_d(n) уровней вместо log_2(n), поэтому вставка
+быстрее, а при извлечении на каждом уровне выбирается максимум из d детей.
+Дети одного узла лежат в массиве подряд, и чтобы они не разрывались
+границей кэш-линии, элементы сдвинуты на d - 1: корень лежит в heap[d - 1],
+а дети узла i начинаются с d * (i - d + 2), то есть с позиции, кратной d.
+При d = 8 группа детей - ровно 64 байта (выравнивание считается от начала
+данных массива; сам заголовок массива JVM располагает по-своему).
+
+Просеивание итеративное и "с дыркой", как в LongMaxHeap.
+*/
+
+public class DaryLongMaxHeap implements LongPriorityQueue {
+
+    private final int shift;    //log2(d)
+    private final int arity;
+    private final int offset;   //d - 1: позиция корня
+    private long[] heap;
+    private int end;            //позиция за последним элементом
+
+    public DaryLongMaxHeap(int arity) {
+        if (arity < 2 || Integer.bitCount(arity) != 1) {
+            throw new IllegalArgumentException("arity must be a power of two >= 2: " + arity);
+        }
+        this.arity = arity;
+        this.shift = Integer.numberOfTrailingZeros(arity);
+        this.offset = arity - 1;
+        this.heap = new long[offset + 64];
+        this.end = offset;
+    }
+
+    @Override
+    public int size() {
+        return end - offset;
+    }
+
+    @Override
+    public void add(long value) {
+        if (end == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        int pos = end++;
+        while (pos > offset) {
+            int parent = parent(pos);
+            if (heap[parent] >= value) {
+                break;
+            }
+            heap[pos] = heap[parent];
+            pos = parent;
+        }
+        heap[pos] = value;
+    }
+
+    @Override
+    public long max() {
+        if (end == offset) {
+            throw new NoSuchElementException("heap is empty");
+        }
+        return heap[offset];
+    }
+
+    @Override
+    public long extractMax() {
+        long result = max();
+        long value = heap[--end];
+        int pos = offset;
+        while (true) {
+            int first = firstChild(pos);
+            if (first >= end) {
+                break;
+            }
+            int last = Math.min(first + arity, end);
+            int best = first;
+            long bestValue = heap[first];
+            for (int child = first + 1; child < last; child++) {
+                if (heap[child] > bestValue) {
+                    bestValue = heap[child];
+                    best = child;
+                }
+            }
+            if (value >= bestValue) {
+                break;
+            }
+            heap[pos] = bestValue;
+            pos = best;
+        }
+        heap[pos] = value;
+        return result;
+    }
+
+    //логический номер k = pos - offset, дети k: d*k+1..d*k+d, родитель: (k-1)/d
+    private int firstChild(int pos) {
+        return ((pos - offset) << shift) + 1 + offset;
+    }
+
+    private int parent(int pos) {
+        return ((pos - offset - 1) >>> shift) + offset;
+    }
+}
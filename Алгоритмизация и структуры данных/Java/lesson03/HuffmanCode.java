@@ -0,0 +1,111 @@
+package by.it.group451003.kishkov.lesson03;
+
+/*
+Канонический код Хаффмана в виде двух таблиц, индексированных символом:
+    lengths[s] - длина кода символа s (0 - символ не встречается),
+    codes[s]   - сам код в младших lengths[s] битах, старший бит пишется первым.
+
+Из дерева Хаффмана (A_Huffman.codeLengths) берутся только длины, а коды
+назначаются заново по правилу канонического кода (как в DEFLATE): символы
+упорядочиваются по (длина, символ), и каждый следующий код на единицу больше
+предыдущего, сдвинутого влево до новой длины. Поэтому код полностью задается
+массивом длин - именно его достаточно передать декодеру.
+
+Длина кода ограничена MAX_LENGTH: если дерево получилось глубже, частоты
+огрубляются и дерево строится заново (см. A_Huffman.codeLengths).
+*/
+
+public class HuffmanCode {
+
+    public static final int MAX_LENGTH = 24;
+
+    private final byte[] lengths;
+    private final int[] codes;
+
+    private HuffmanCode(byte[] lengths, int[] codes) {
+        this.lengths = lengths;
+        this.codes = codes;
+    }
+
+    //оптимальный код для частот frequencies[symbol], размер алфавита - frequencies.length
+    public static HuffmanCode build(long[] frequencies) {
+        return fromLengths(A_Huffman.codeLengths(frequencies, MAX_LENGTH));
+    }
+
+    //канонические коды по длинам; длины, не образующие беспрефиксный код, отвергаются
+    public static HuffmanCode fromLengths(byte[] lengths) {
+        int[] count = new int[MAX_LENGTH + 1];
+        for (byte length : lengths) {
+            if (length < 0 || length > MAX_LENGTH) {
+                throw new IllegalArgumentException("bad code length: " + length);
+            }
+            count[length]++;
+        }
+        count[0] = 0;
+
+        //неравенство Крафта: на каждой длине кодов не больше, чем свободных вершин
+        long free = 1;
+        for (int length = 1; length <= MAX_LENGTH; length++) {
+            free = (free << 1) - count[length];
+            if (free < 0) {
+                throw new IllegalArgumentException("code lengths are over-subscribed");
+            }
+        }
+
+        int[] next = new int[MAX_LENGTH + 1];
+        int code = 0;
+        for (int length = 1; length <= MAX_LENGTH; length++) {
+            code = (code + count[length - 1]) << 1;
+            next[length] = code;
+        }
+        int[] codes = new int[lengths.length];
+        for (int symbol = 0; symbol < lengths.length; symbol++) {
+            if (lengths[symbol] != 0) {
+                codes[symbol] = next[lengths[symbol]]++;
+            }
+        }
+        return new HuffmanCode(lengths.clone(), codes);
+    }
+
+    public int alphabetSize() {
+        return lengths.length;
+    }
+
+    public int length(int symbol) {
+        return lengths[symbol];
+    }
+
+    public int code(int symbol) {
+        return codes[symbol];
+    }
+
+    public byte[] lengths() {
+        return lengths.clone();
+    }
+
+    public void write(int symbol, BitWriter out) {
+        out.write(codes[symbol], lengths[symbol]);
+    }
+
+    //код символа строкой из '0' и '1'
+    public String text(int symbol) {
+        StringBuilder result = new StringBuilder(lengths[symbol]);
+        appendText(symbol, result);
+        return result.toString();
+    }
+
+    public void appendText(int symbol, StringBuilder out) {
+        for (int bit = lengths[symbol] - 1; bit >= 0; bit--) {
+            out.append((char) ('0' + (codes[symbol] >>> bit & 1)));
+        }
+    }
+
+    //длина закодированных данных в битах
+    public long bitLength(long[] frequencies) {
+        long bits = 0;
+        for (int symbol = 0; symbol < frequencies.length; symbol++) {
+            bits += frequencies[symbol] * lengths[symbol];
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,134 @@
+package by.it.group451003.kishkov.lesson03;
+
+/*
+Табличный декодер беспрефиксного кода.
+
+Первичная таблица на PRIMARY_BITS бит: по следующим PRIMARY_BITS битам потока
+сразу находится символ и длина его кода, если код не длиннее таблицы.
+Коды длиннее делят первые PRIMARY_BITS бит с другими длинными кодами, и
+ячейка первичной таблицы ссылается на подтаблицу, индексируемую еще
+несколькими битами (сколько нужно самому длинному коду этой группы).
+Так любой символ декодируется одним-двумя peek и одним skip.
+
+Ячейка хранит (symbol << 8) | length, ссылка на подтаблицу помечена знаковым
+битом: 0x80000000 | (offset << 5) | bits. Ноль - такого кода нет.
+
+Код не обязан быть каноническим: таблицы строятся по любому набору
+беспрефиксных кодов длиной до 32 бит, например по кодам из файла B_Huffman.
+*/
+
+public class HuffmanDecoder {
+
+    static final int PRIMARY_BITS = 10;
+    static final int MAX_LENGTH = 32;
+
+    private final int primaryBits;
+    private final int[] table;
+
+    public HuffmanDecoder(HuffmanCode code) {
+        this(codesOf(code), code.lengths());
+    }
+
+    //codes[s] - код символа s в младших lengths[s] битах, lengths[s] == 0 - символа нет
+    public HuffmanDecoder(int[] codes, byte[] lengths) {
+        int maxLength = 0;
+        for (byte length : lengths) {
+            if (length < 0 || length > MAX_LENGTH) {
+                throw new IllegalArgumentException("bad code length: " + length);
+            }
+            maxLength = Math.max(maxLength, length);
+        }
+        primaryBits = Math.max(1, Math.min(PRIMARY_BITS, maxLength));
+
+        //сколько бит нужно подтаблице каждой ячейки первичной таблицы
+        int[] subBits = new int[1 << primaryBits];
+        for (int symbol = 0; symbol < lengths.length; symbol++) {
+            int length = lengths[symbol];
+            if (length > primaryBits) {
+                int prefix = prefix(codes[symbol], length);
+                subBits[prefix] = Math.max(subBits[prefix], length - primaryBits);
+            }
+        }
+        int size = 1 << primaryBits;
+        int[] offsets = new int[1 << primaryBits];
+        for (int prefix = 0; prefix < subBits.length; prefix++) {
+            if (subBits[prefix] > 0) {
+                offsets[prefix] = size;
+                size += 1 << subBits[prefix];
+            }
+        }
+
+        table = new int[size];
+        for (int prefix = 0; prefix < subBits.length; prefix++) {
+            if (subBits[prefix] > 0) {
+                table[prefix] = 0x80000000 | (offsets[prefix] << 5) | subBits[prefix];
+            }
+        }
+        for (int symbol = 0; symbol < lengths.length; symbol++) {
+            int length = lengths[symbol];
+            if (length == 0) {
+                continue;
+            }
+            int code = (int) (codes[symbol] & ((1L << length) - 1));
+            int entry = (symbol << 8) | length;
+            if (length <= primaryBits) {
+                int shift = primaryBits - length;
+                fill(table, code << shift, 1 << shift, entry);
+            } else {
+                int prefix = prefix(code, length);
+                int bits = subBits[prefix];
+                int rest = code & ((1 << (length - primaryBits)) - 1);
+                int shift = bits - (length - primaryBits);
+                fill(table, offsets[prefix] + (rest << shift), 1 << shift, entry);
+            }
+        }
+    }
+
+    //следующий символ потока
+    public int decode(BitReader in) {
+        int entry = table[in.peek(primaryBits)];
+        if (entry < 0) {
+            int bits = entry & 31;
+            int offset = (entry >>> 5) & 0x3FFFFFF;
+            entry = table[offset + (in.peek(primaryBits + bits) & ((1 << bits) - 1))];
+        }
+        if (entry == 0) {
+            throw new IllegalArgumentException("invalid code at bit " + in.position());
+        }
+        in.skip(entry & 0xFF);
+        return entry >>> 8;
+    }
+
+    //декодирует ровно bitCount бит потока в строку
+    public String decodeText(BitReader in, long bitCount) {
+        StringBuilder result = new StringBuilder();
+        while (in.position() < bitCount) {
+            result.append((char) decode(in));
+        }
+        if (in.position() != bitCount) {
+            throw new IllegalArgumentException("last code crosses the end of data");
+        }
+        return result.toString();
+    }
+
+    private int prefix(int code, int length) {
+        return (int) ((code & ((1L << length) - 1)) >>> (length - primaryBits));
+    }
+
+    private static void fill(int[] table, int from, int count, int entry) {
+        for (int i = from; i < from + count; i++) {
+            if (table[i] != 0) {
+                throw new IllegalArgumentException("codes are not prefix-free");
+            }
+            table[i] = entry;
+        }
+    }
+
+    private static int[] codesOf(HuffmanCode code) {
+        int[] codes = new int[code.alphabetSize()];
+        for (int symbol = 0; symbol < codes.length; symbol++) {
+            codes[symbol] = code.code(symbol);
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,246 @@
+package by.it.group451003.kishkov.lesson03;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/*
+Сжатие файлов произвольного размера кодом Хаффмана по байтам.
+
+compress делает два прохода по исходному файлу через FileChannel:
+    1) подсчет частот 256 значений байта и построение канонического кода
+    2) кодирование блоками по blockSize байт
+Каждый блок кодируется независимо и дополняется до целого байта, поэтому
+память ограничена размером блока, а блоки можно читать по отдельности
+и разжимать параллельно.
+
+Формат контейнера (big-endian):
+    int    MAGIC
+    long   length          - размер исходного файла
+    int    blockSize
+    int    blockCount
+    byte[256] lengths      - длины канонических кодов байтов
+    long[blockCount + 1]   - смещения сжатых блоков в файле, последнее - конец данных
+    ...    сжатые блоки
+Место под таблицу смещений резервируется сразу после длин кодов,
+а заполняется, когда все блоки уже записаны.
+
+Открытый контейнер (open) дает произвольный доступ к блокам; чтение
+блоков потокобезопасно, так как использует позиционное чтение канала.
+*/
+
+public class HuffmanFileCodec implements Closeable {
+
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+    private static final int MAGIC = 0x48554631;   //"HUF1"
+    private static final int SYMBOLS = 256;
+    private static final int INDEX_POSITION = 4 + 8 + 4 + 4 + SYMBOLS;
+
+    private final FileChannel channel;
+    private final long length;
+    private final int blockSize;
+    private final long[] offsets;
+    private final HuffmanDecoder decoder;
+
+    private HuffmanFileCodec(FileChannel channel, long length, int blockSize, long[] offsets, HuffmanDecoder decoder) {
+        this.channel = channel;
+        this.length = length;
+        this.blockSize = blockSize;
+        this.offsets = offsets;
+        this.decoder = decoder;
+    }
+
+    public static void compress(Path source, Path target) throws IOException {
+        compress(source, target, DEFAULT_BLOCK_SIZE);
+    }
+
+    public static void compress(Path source, Path target, int blockSize) throws IOException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize <= 0: " + blockSize);
+        }
+        try (FileChannel in = FileChannel.open(source, READ);
+             FileChannel out = FileChannel.open(target, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            long length = in.size();
+            long blocks = (length + blockSize - 1) / blockSize;
+            if (blocks >= Integer.MAX_VALUE / 8) {
+                throw new IllegalArgumentException("too many blocks: " + blocks);
+            }
+            int blockCount = (int) blocks;
+            ByteBuffer block = ByteBuffer.allocate((int) Math.max(1, Math.min(blockSize, length)));
+
+            //проход 1: частоты
+            long[] frequencies = new long[SYMBOLS];
+            for (long position = 0; position < length; position += block.limit()) {
+                readBlock(in, block, position, length);
+                for (int i = 0; i < block.limit(); i++) {
+                    frequencies[block.get(i) & 0xFF]++;
+                }
+            }
+            HuffmanCode code = HuffmanCode.build(frequencies);
+
+            ByteBuffer header = ByteBuffer.allocate(INDEX_POSITION)
+                    .putInt(MAGIC)
+                    .putLong(length)
+                    .putInt(blockSize)
+                    .putInt(blockCount)
+                    .put(code.lengths());
+            header.flip();
+            writeFully(out, header, 0);
+
+            //проход 2: блоки, сразу за зарезервированной таблицей смещений
+            long[] offsets = new long[blockCount + 1];
+            offsets[0] = INDEX_POSITION + 8L * (blockCount + 1);
+            for (int b = 0; b < blockCount; b++) {
+                readBlock(in, block, (long) b * blockSize, length);
+                BitWriter bits = new BitWriter(block.limit());
+                for (int i = 0; i < block.limit(); i++) {
+                    code.write(block.get(i) & 0xFF, bits);
+                }
+                byte[] data = bits.toByteArray();
+                writeFully(out, ByteBuffer.wrap(data), offsets[b]);
+                offsets[b + 1] = offsets[b] + data.length;
+            }
+
+            ByteBuffer index = ByteBuffer.allocate(8 * (blockCount + 1));
+            index.asLongBuffer().put(offsets);
+            writeFully(out, index, INDEX_POSITION);
+        }
+    }
+
+    public static void decompress(Path source, Path target) throws IOException {
+        try (HuffmanFileCodec codec = open(source)) {
+            codec.decompress(target, false);
+        }
+    }
+
+    public static HuffmanFileCodec open(Path source) throws IOException {
+        FileChannel channel = FileChannel.open(source, READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(INDEX_POSITION);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("not a Huffman container: " + source);
+            }
+            long length = header.getLong();
+            int blockSize = header.getInt();
+            int blockCount = header.getInt();
+            if (length < 0 || blockSize <= 0 || blockCount < 0
+                    || blockCount >= Integer.MAX_VALUE / 8
+                    || blockCount != (length + blockSize - 1) / blockSize) {
+                throw new IOException("corrupted header: " + source);
+            }
+            byte[] lengths = new byte[SYMBOLS];
+            header.get(lengths);
+
+            ByteBuffer index = ByteBuffer.allocate(8 * (blockCount + 1));
+            readFully(channel, index, INDEX_POSITION);
+            index.flip();
+            long[] offsets = new long[blockCount + 1];
+            index.asLongBuffer().get(offsets);
+
+            HuffmanDecoder decoder = new HuffmanDecoder(HuffmanCode.fromLengths(lengths));
+            return new HuffmanFileCodec(channel, length, blockSize, offsets, decoder);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public int blockSize() {
+        return blockSize;
+    }
+
+    public int blockCount() {
+        return offsets.length - 1;
+    }
+
+    //исходные байты блока block: [block * blockSize, min(length, (block + 1) * blockSize))
+    public byte[] readBlock(int block) throws IOException {
+        int size = (int) Math.min(blockSize, length - (long) block * blockSize);
+        long compressedSize = offsets[block + 1] - offsets[block];
+        if (compressedSize < 0 || compressedSize > Integer.MAX_VALUE) {
+            throw new IOException("corrupted index at block " + block);
+        }
+        byte[] compressed = new byte[(int) compressedSize];
+        readFully(channel, ByteBuffer.wrap(compressed), offsets[block]);
+
+        byte[] result = new byte[size];
+        BitReader in = new BitReader(compressed);
+        try {
+            for (int i = 0; i < size; i++) {
+                result[i] = (byte) decoder.decode(in);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("corrupted block " + block, e);
+        }
+        if (in.position() > 8L * compressed.length) {
+            throw new IOException("corrupted block " + block);
+        }
+        return result;
+    }
+
+    //разжимает весь контейнер; parallel - блоки параллельно, каждый пишется на свое место
+    public void decompress(Path target, boolean parallel) throws IOException {
+        try (FileChannel out = FileChannel.open(target, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            IntStream blocks = IntStream.range(0, blockCount());
+            if (parallel) {
+                blocks = blocks.parallel();
+            }
+            try {
+                blocks.forEach(block -> {
+                    try {
+                        writeFully(out, ByteBuffer.wrap(readBlock(block)), (long) block * blockSize);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    //блок исходного файла длины length с позиции position; последний блок короче
+    private static void readBlock(FileChannel in, ByteBuffer block, long position, long length) throws IOException {
+        block.clear();
+        block.limit((int) Math.min(block.capacity(), length - position));
+        readFully(in, block, position);
+        block.flip();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("unexpected end of file at " + position);
+            }
+            position += read;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
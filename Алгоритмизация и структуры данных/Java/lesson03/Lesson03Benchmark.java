@@ -0,0 +1,62 @@
+package by.it.group451003.kishkov.lesson03;
+
+import by.it.group451003.kishkov.bench.BenchmarkData;
+import by.it.group451003.kishkov.bench.BenchmarkData.Distribution;
+import by.it.group451003.kishkov.io.FastReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/*
+JMH-бенчмарки урока 3: очередь с приоритетами C_HeapMax.
+size - число команд; каждая третья команда ExtractMax, остальные Insert x,
+значения x берутся из распределения distribution.
+*/
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Lesson03Benchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "MANY_DUPLICATES"})
+    Distribution distribution;
+
+    private byte[] input;
+
+    @Setup
+    public void setUp() {
+        int[] values = BenchmarkData.ints(size, distribution, 1_000_000_000);
+        StringBuilder sb = new StringBuilder(size * 16);
+        sb.append(size).append('\n');
+        for (int i = 0; i < size; i++) {
+            if (i % 3 == 2) {
+                sb.append("ExtractMax\n");
+            } else {
+                sb.append("Insert ").append(values[i]).append('\n');
+            }
+        }
+        input = BenchmarkData.bytes(sb);
+    }
+
+    @Benchmark
+    public Long heapMax() {
+        return new C_HeapMax().findMaxValue(new FastReader(new ByteArrayInputStream(input)));
+    }
+}
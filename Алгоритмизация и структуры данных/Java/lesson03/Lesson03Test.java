@@ -1,10 +1,24 @@
 package by.it.group451003.kishkov.lesson03;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.InputMismatchException;
+import java.util.PriorityQueue;
+import java.util.Random;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class Lesson03Test {
     /*
@@ -16,6 +30,9 @@ public class Lesson03Test {
     Search for test:    In whole project
     */
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
 
     @Test
     public void checkA() throws Exception {
@@ -26,6 +43,44 @@ public class Lesson03Test {
         assertTrue("A failed", ok);
     }
 
+    @Test
+    public void checkA_packed() throws Exception {
+        A_Huffman instance = new A_Huffman();
+        byte[] packed = instance.encodePacked("abacabad");
+        //01001100 100111|00
+        assertArrayEquals("A packed failed", new byte[]{0x4C, (byte) 0x9C}, packed);
+
+        Random random = new Random(451003);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            text.append((char) ('a' + (int) Math.sqrt(random.nextInt(26 * 26))));
+        }
+        String bits = instance.encode(text.toString());
+        packed = instance.encodePacked(text.toString());
+        boolean ok = packed.length == (bits.length() + 7) / 8;
+        for (int i = 0; i < bits.length(); i++) {
+            ok = ok && (packed[i >> 3] >> (7 - (i & 7)) & 1) == bits.charAt(i) - '0';
+        }
+        assertTrue("A packed bits failed", ok);
+    }
+
+    @Test
+    public void checkA_lengthLimit() throws Exception {
+        //частоты Фибоначчи дают дерево-"лесенку" глубины 59
+        long[] frequencies = new long[60];
+        frequencies[0] = frequencies[1] = 1;
+        for (int i = 2; i < frequencies.length; i++) {
+            frequencies[i] = frequencies[i - 1] + frequencies[i - 2];
+        }
+        HuffmanCode code = HuffmanCode.build(frequencies);
+        long kraft = 0;
+        for (int symbol = 0; symbol < frequencies.length; symbol++) {
+            assertTrue("A length limit failed", code.length(symbol) >= 1 && code.length(symbol) <= HuffmanCode.MAX_LENGTH);
+            kraft += 1L << (HuffmanCode.MAX_LENGTH - code.length(symbol));
+        }
+        assertTrue("A kraft failed", kraft == 1L << HuffmanCode.MAX_LENGTH);
+    }
+
     @Test
     public void checkB() throws Exception {
         InputStream inputStream = B_Huffman.class.getResourceAsStream("dataB.txt");
@@ -35,6 +90,87 @@ public class Lesson03Test {
         assertTrue("B failed", ok);
     }
 
+    @Test
+    public void checkB_packed() throws Exception {
+        A_Huffman encoder = new A_Huffman();
+        B_Huffman decoder = new B_Huffman();
+        assertEquals("B packed failed", "abacabad", decoder.decodePacked(encoder.encodeBinary("abacabad")));
+        assertEquals("B packed single failed", "aaaa", decoder.decodePacked(encoder.encodeBinary("aaaa")));
+
+        //широкий алфавит и длинные коды: часть символов уходит в подтаблицы
+        Random random = new Random(451003);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            int bits = 1 + random.nextInt(15);
+            text.append((char) (0x400 + random.nextInt(1 << bits)));
+        }
+        assertEquals("B packed wide failed", text.toString(), decoder.decodePacked(encoder.encodeBinary(text.toString())));
+    }
+
+    @Test
+    public void checkB_textCodes() throws Exception {
+        //неканонический беспрефиксный код, буквы перечислены в произвольном порядке
+        String input = "3 8\nb: 1\na: 01\nc: 00\n10100011\n";
+        String result = new B_Huffman().decode(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+        assertEquals("B text codes failed", "bacab", result);
+
+        //посторонние символы в битовой строке и несовпадение длины с заголовком
+        for (String malformed : new String[]{"2 3\na: 0\nb: 1\n0x1\n", "2 3\na: 0\nb: 1\n012\n",
+                "2 4\na: 0\nb: 1\n010\n", "2 2\na: 0\nb: 1\n010\n"}) {
+            try {
+                new B_Huffman().decode(new ByteArrayInputStream(malformed.getBytes(StandardCharsets.UTF_8)));
+                fail("B accepted malformed input " + malformed);
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void checkB_fileCodec() throws Exception {
+        Random random = new Random(451003);
+        byte[] data = new byte[300_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (random.nextGaussian() * 20);
+        }
+        Path source = folder.newFile("source.bin").toPath();
+        Path packed = folder.newFile("source.huf").toPath();
+        Path restored = folder.newFile("restored.bin").toPath();
+        Files.write(source, data);
+
+        //блоки по 64 КБ, последний неполный
+        HuffmanFileCodec.compress(source, packed, 1 << 16);
+        assertTrue("codec did not compress", Files.size(packed) < data.length);
+        try (HuffmanFileCodec codec = HuffmanFileCodec.open(packed)) {
+            assertEquals("codec block count failed", 5, codec.blockCount());
+            assertArrayEquals("codec block failed", Arrays.copyOfRange(data, 4 << 16, data.length), codec.readBlock(4));
+            for (boolean parallel : new boolean[]{false, true}) {
+                codec.decompress(restored, parallel);
+                assertArrayEquals("codec failed, parallel=" + parallel, data, Files.readAllBytes(restored));
+            }
+        }
+
+        Files.write(source, new byte[0]);
+        HuffmanFileCodec.compress(source, packed);
+        HuffmanFileCodec.decompress(packed, restored);
+        assertEquals("codec empty failed", 0, Files.size(restored));
+    }
+
+    @Test
+    public void checkA_parallel() throws Exception {
+        Random random = new Random(451003);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 300_000; i++) {
+            text.append((char) (' ' + Math.abs(random.nextGaussian() * 200)));
+        }
+        String s = text.toString();
+
+        //блоки не кратны байту: склейка идет со сдвигом
+        ParallelHuffmanEncoder.Encoded encoded = new ParallelHuffmanEncoder(10_007).encode(s);
+        assertArrayEquals("parallel bits failed", new A_Huffman().encodePacked(s), encoded.data());
+        assertEquals("parallel block failed", s.substring(7 * 10_007, 8 * 10_007), encoded.decodeBlock(7));
+        assertEquals("parallel decode failed", s, encoded.decode());
+    }
+
     @Test
     public void checkC() throws Exception {
         InputStream inputStream = C_HeapMax.class.getResourceAsStream("dataC.txt");
@@ -44,4 +180,80 @@ public class Lesson03Test {
         assertTrue("C failed", ok);
     }
 
+    @Test
+    public void checkC_commands() throws Exception {
+        C_HeapMax instance = new C_HeapMax();
+        String input = "4\ninsert 7\nINSERT 3\nExtractMax\nextractMAX\n";
+        Long res = instance.findMaxValue(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)));
+        assertTrue("C commands failed", res == 7);
+        //неизвестная команда - ошибка входа, а не молчаливый ExtractMax
+        for (String bad : new String[]{"Extract", "ExtractMaxx", "Pop", "Inser"}) {
+            String malformed = "3\nInsert 5\n" + bad + "\nExtractMax\n";
+            try {
+                instance.findMaxValue(new ByteArrayInputStream(malformed.getBytes(StandardCharsets.US_ASCII)));
+                fail("C accepted unknown command " + bad);
+            } catch (InputMismatchException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void checkC_heap() throws Exception {
+        Random random = new Random(451003);
+        long[] initial = random.longs(1000, 0, 1000).toArray();
+        LongMaxHeap heap = new LongMaxHeap(initial, true);
+        long[] values = Arrays.copyOf(initial, 100_000);   //эталон: значения по handle
+        boolean[] alive = new boolean[values.length];
+        Arrays.fill(alive, 0, initial.length, true);
+        PriorityQueue<Long> expected = new PriorityQueue<>(Collections.reverseOrder());
+        for (long value : initial) expected.add(value);
+
+        for (int step = 0; step < 50_000; step++) {
+            int operation = random.nextInt(4);
+            int handle = random.nextInt(Math.max(1, heap.size()));
+            if (operation == 0) {
+                long value = random.nextInt(1000);
+                handle = heap.insert(value);
+                values[handle] = value;
+                alive[handle] = true;
+                expected.add(value);
+            } else if (operation == 1 && !heap.isEmpty()) {
+                long max = heap.extractMax();
+                assertEquals("C heap extract failed", (long) expected.poll(), max);
+            } else if (heap.contains(handle)) {
+                long delta = random.nextInt(100);
+                expected.remove(values[handle]);
+                values[handle] += operation == 2 ? delta : -delta;
+                expected.add(values[handle]);
+                if (operation == 2) heap.increaseKey(handle, values[handle]);
+                else heap.decreaseKey(handle, values[handle]);
+                assertEquals("C heap key failed", values[handle], heap.valueOf(handle));
+            }
+            assertEquals("C heap size failed", expected.size(), heap.size());
+        }
+        while (!heap.isEmpty()) {
+            assertEquals("C heap drain failed", (long) expected.poll(), heap.extractMax());
+        }
+    }
+
+    @Test
+    public void checkC_queues() throws Exception {
+        LongPriorityQueue[] queues = {new LongMaxHeap(), new DaryLongMaxHeap(4), new DaryLongMaxHeap(8), new PairingLongMaxHeap()};
+        for (LongPriorityQueue queue : queues) {
+            Random random = new Random(451003);
+            PriorityQueue<Long> expected = new PriorityQueue<>(Collections.reverseOrder());
+            for (int step = 0; step < 100_000; step++) {
+                //сначала очередь растет, потом опустошается
+                if (random.nextInt(100) < (step < 50_000 ? 70 : 30)) {
+                    long value = random.nextInt(10_000);
+                    queue.add(value);
+                    expected.add(value);
+                } else if (!expected.isEmpty()) {
+                    assertEquals(queue.getClass().getSimpleName() + " failed", (long) expected.poll(), queue.extractMax());
+                }
+                assertEquals(queue.getClass().getSimpleName() + " size failed", expected.size(), queue.size());
+            }
+        }
+    }
+
 }
@@ -0,0 +1,195 @@
+package by.it.group451003.kishkov.lesson03;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/*
+Max-куча на растущем массиве long[] без упаковки в Long.
+
+    - просеивание итеративное и "с дыркой": вставляемый элемент не меняется
+      местами на каждом шаге, а держится в переменной, пока более крупные
+      (или мелкие) элементы сдвигаются на освободившееся место; в массив
+      он записывается один раз, в конце
+    - конструктор из массива строит кучу за O(n) (просеивание вниз от
+      середины к корню)
+    - по желанию куча ведет индекс позиций: insert возвращает handle
+      элемента, по которому потом работают increaseKey/decreaseKey/valueOf.
+      Без индекса лишних массивов нет, insert возвращает -1
+
+Не потокобезопасна.
+*/
+
+public class LongMaxHeap implements LongPriorityQueue {
+
+    private long[] heap;
+    private int size;
+
+    //индекс позиций: handles[pos] - handle элемента на позиции pos,
+    //positions[handle] - его позиция или -1, если элемент уже извлечен
+    private int[] handles;
+    private int[] positions;
+    private int nextHandle = 0;
+
+    public LongMaxHeap() {
+        this(false);
+    }
+
+    public LongMaxHeap(boolean trackHandles) {
+        heap = new long[16];
+        if (trackHandles) {
+            handles = new int[16];
+            positions = new int[16];
+        }
+    }
+
+    //куча из values за O(n); при индексе handle элемента - его номер в values
+    public LongMaxHeap(long[] values, boolean trackHandles) {
+        size = values.length;
+        heap = Arrays.copyOf(values, Math.max(16, size));
+        if (trackHandles) {
+            handles = new int[heap.length];
+            positions = new int[heap.length];
+            for (int i = 0; i < size; i++) {
+                handles[i] = i;
+                positions[i] = i;
+            }
+            nextHandle = size;
+        }
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i, heap[i], handles != null ? handles[i] : 0);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void add(long value) {
+        insert(value);
+    }
+
+    public int insert(long value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+            if (handles != null) {
+                handles = Arrays.copyOf(handles, size * 2);
+            }
+        }
+        int handle = -1;
+        if (handles != null) {
+            if (nextHandle == positions.length) {
+                positions = Arrays.copyOf(positions, nextHandle * 2);
+            }
+            handle = nextHandle++;
+        }
+        siftUp(size++, value, handle);
+        return handle;
+    }
+
+    @Override
+    public long max() {
+        if (size == 0) {
+            throw new NoSuchElementException("heap is empty");
+        }
+        return heap[0];
+    }
+
+    @Override
+    public long extractMax() {
+        long result = max();
+        if (handles != null) {
+            positions[handles[0]] = -1;
+        }
+        size--;
+        if (size > 0) {
+            siftDown(0, heap[size], handles != null ? handles[size] : 0);
+        }
+        return result;
+    }
+
+    public boolean contains(int handle) {
+        return handles != null && handle >= 0 && handle < nextHandle && positions[handle] >= 0;
+    }
+
+    public long valueOf(int handle) {
+        return heap[position(handle)];
+    }
+
+    //значение элемента handle становится value >= текущего
+    public void increaseKey(int handle, long value) {
+        int position = position(handle);
+        if (value < heap[position]) {
+            throw new IllegalArgumentException("new key is smaller: " + value + " < " + heap[position]);
+        }
+        siftUp(position, value, handle);
+    }
+
+    //значение элемента handle становится value <= текущего
+    public void decreaseKey(int handle, long value) {
+        int position = position(handle);
+        if (value > heap[position]) {
+            throw new IllegalArgumentException("new key is larger: " + value + " > " + heap[position]);
+        }
+        siftDown(position, value, handle);
+    }
+
+    private int position(int handle) {
+        if (!contains(handle)) {
+            throw new NoSuchElementException("no element with handle " + handle);
+        }
+        return positions[handle];
+    }
+
+    //элемент value (с handle) поднимается от дырки в позиции pos
+    private void siftUp(int pos, long value, int handle) {
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (heap[parent] >= value) {
+                break;
+            }
+            move(parent, pos);
+            pos = parent;
+        }
+        place(pos, value, handle);
+    }
+
+    //элемент value (с handle) опускается от дырки в позиции pos
+    private void siftDown(int pos, long value, int handle) {
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            if (child + 1 < size && heap[child + 1] > heap[child]) {
+                child++;
+            }
+            if (value >= heap[child]) {
+                break;
+            }
+            move(child, pos);
+            pos = child;
+        }
+        place(pos, value, handle);
+    }
+
+    private void move(int from, int to) {
+        heap[to] = heap[from];
+        if (handles != null) {
+            handles[to] = handles[from];
+            positions[handles[to]] = to;
+        }
+    }
+
+    private void place(int pos, long value, int handle) {
+        heap[pos] = value;
+        if (handles != null) {
+            handles[pos] = handle;
+            positions[handle] = pos;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package by.it.group451003.kishkov.lesson03;
+
+/*
+Очередь с приоритетами для long с извлечением максимума.
+Реализации: LongMaxHeap (двоичная куча), DaryLongMaxHeap (d-арная куча),
+PairingLongMaxHeap (спаривающаяся куча). Пустая очередь на max/extractMax
+бросает NoSuchElementException.
+*/
+
+public interface LongPriorityQueue {
+
+    void add(long value);
+
+    long max();
+
+    long extractMax();
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,102 @@
+package by.it.group451003.kishkov.lesson03;
+
+import by.it.group451003.kishkov.bench.BenchmarkData;
+import by.it.group451003.kishkov.bench.BenchmarkData.Distribution;
+import by.it.group451003.kishkov.io.FastReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/*
+JMH-сравнение реализаций LongPriorityQueue на командах C_HeapMax.
+10^7 команд "Insert x / ExtractMax" генерируются в текстовом формате урока
+и один раз разбираются в массив; замеряется только проигрывание команд
+на очереди, результат - команд в секунду.
+insertShare - доля вставок в процентах: 67 - как в Lesson03Benchmark
+(каждая третья команда ExtractMax), при 90 очередь быстро растет, что ближе
+к нагрузке, для которой задумана спаривающаяся куча.
+*/
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class LongPriorityQueueBenchmark {
+
+    private static final int OPERATIONS = 10_000_000;
+
+    @Param({"BINARY", "DARY4", "DARY8", "PAIRING"})
+    String queue;
+
+    @Param({"RANDOM", "SORTED"})
+    Distribution distribution;
+
+    @Param({"67", "90"})
+    int insertShare;
+
+    //values[i] >= 0 - Insert values[i], -1 - ExtractMax
+    private long[] commands;
+
+    @Setup
+    public void setUp() {
+        int[] values = BenchmarkData.ints(OPERATIONS, distribution, 1_000_000_000);
+        StringBuilder sb = new StringBuilder(OPERATIONS * 16);
+        sb.append(OPERATIONS).append('\n');
+        for (int i = 0; i < OPERATIONS; i++) {
+            if (i % 100 >= insertShare) {
+                sb.append("ExtractMax\n");
+            } else {
+                sb.append("Insert ").append(values[i]).append('\n');
+            }
+        }
+
+        FastReader reader = new FastReader(new ByteArrayInputStream(BenchmarkData.bytes(sb)));
+        commands = new long[reader.nextInt()];
+        for (int i = 0; i < commands.length; i++) {
+            commands[i] = reader.nextWordEqualsIgnoreCase("insert") ? reader.nextLong() : -1;
+        }
+        reader.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long replay() {
+        LongPriorityQueue heap = create();
+        long maxValue = 0;
+        for (long command : commands) {
+            if (command >= 0) {
+                heap.add(command);
+            } else if (!heap.isEmpty()) {
+                maxValue = Math.max(maxValue, heap.extractMax());
+            }
+        }
+        return maxValue;
+    }
+
+    private LongPriorityQueue create() {
+        switch (queue) {
+            case "DARY4":
+                return new DaryLongMaxHeap(4);
+            case "DARY8":
+                return new DaryLongMaxHeap(8);
+            case "PAIRING":
+                return new PairingLongMaxHeap();
+            default:
+                return new LongMaxHeap();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package by.it.group451003.kishkov.lesson03;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/*
+Спаривающаяся (pairing) max-куча на параллельных массивах.
+
+Узел i - это values[i], первый ребенок child[i] и следующий брат sibling[i];
+объектов на узел нет, освобожденные узлы идут в список свободных.
+Вставка - одно сравнение и перестановка ссылок, O(1): подходит для нагрузки,
+где вставок гораздо больше, чем извлечений. Извлечение максимума сливает
+детей корня в два прохода (попарно слева направо, затем справа налево),
+амортизированно O(log n).
+*/
+
+public class PairingLongMaxHeap implements LongPriorityQueue {
+
+    private static final int NONE = -1;
+
+    private long[] values = new long[64];
+    private int[] child = new int[64];
+    private int[] sibling = new int[64];
+    private int[] pairs = new int[64];   //буфер первого прохода слияния
+    private int root = NONE;
+    private int free = NONE;             //список свободных узлов через sibling
+    private int used = 0;                //сколько ячеек массивов уже занималось
+    private int size = 0;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void add(long value) {
+        int node = allocate();
+        values[node] = value;
+        child[node] = NONE;
+        sibling[node] = NONE;
+        root = root == NONE ? node : link(root, node);
+        size++;
+    }
+
+    @Override
+    public long max() {
+        if (root == NONE) {
+            throw new NoSuchElementException("heap is empty");
+        }
+        return values[root];
+    }
+
+    @Override
+    public long extractMax() {
+        long result = max();
+        int old = root;
+        root = mergePairs(child[old]);
+        sibling[old] = free;
+        free = old;
+        size--;
+        return result;
+    }
+
+    //больший корень становится родителем меньшего
+    private int link(int a, int b) {
+        if (values[a] < values[b]) {
+            int temp = a;
+            a = b;
+            b = temp;
+        }
+        sibling[b] = child[a];
+        child[a] = b;
+        return a;
+    }
+
+    private int mergePairs(int first) {
+        int count = 0;
+        while (first != NONE) {
+            int second = sibling[first];
+            if (second == NONE) {
+                sibling[first] = NONE;
+                push(count++, first);
+                break;
+            }
+            int next = sibling[second];
+            sibling[first] = NONE;
+            sibling[second] = NONE;
+            push(count++, link(first, second));
+            first = next;
+        }
+        if (count == 0) {
+            return NONE;
+        }
+        int result = pairs[--count];
+        while (count > 0) {
+            result = link(pairs[--count], result);
+        }
+        return result;
+    }
+
+    private void push(int index, int node) {
+        if (index == pairs.length) {
+            pairs = Arrays.copyOf(pairs, index * 2);
+        }
+        pairs[index] = node;
+    }
+
+    private int allocate() {
+        if (free != NONE) {
+            int node = free;
+            free = sibling[node];
+            return node;
+        }
+        if (used == values.length) {
+            values = Arrays.copyOf(values, used * 2);
+            child = Arrays.copyOf(child, used * 2);
+            sibling = Arrays.copyOf(sibling, used * 2);
+        }
+        return used++;
+    }
+}
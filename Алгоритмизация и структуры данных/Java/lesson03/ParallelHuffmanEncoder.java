@@ -0,0 +1,152 @@
+package by.it.group451003.kishkov.lesson03;
+
+import java.util.stream.IntStream;
+
+/*
+Кодирование Хаффмана длинного текста на всех ядрах.
+
+Текст делится на блоки по blockSize символов.
+    1) частоты: каждый поток считает свои блоки в собственную гистограмму
+       int[65536] (parallel collect), гистограммы складываются в конце -
+       общих счетчиков и синхронизации нет
+    2) код: одна общая каноническая таблица HuffmanCode по сумме частот
+       (дерево строит A_Huffman), таблица только читается
+    3) блоки кодируются параллельно, каждый в свой BitWriter
+    4) буферы блоков склеиваются подряд, без выравнивания, и запоминается
+       битовое смещение начала каждого блока
+Результат побитно совпадает с последовательным A_Huffman.encodePacked,
+а смещения позволяют декодировать любой блок отдельно.
+*/
+
+public class ParallelHuffmanEncoder {
+
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+    private static final int ALPHABET = 1 << 16;
+
+    private final int blockSize;
+
+    public ParallelHuffmanEncoder() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    public ParallelHuffmanEncoder(int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize <= 0: " + blockSize);
+        }
+        this.blockSize = blockSize;
+    }
+
+    public Encoded encode(CharSequence text) {
+        int length = text.length();
+        int blocks = (int) ((length + (long) blockSize - 1) / blockSize);
+
+        int[] histogram = IntStream.range(0, blocks).parallel().collect(
+                () -> new int[ALPHABET],
+                (counts, block) -> {
+                    for (int i = from(block), to = to(block, length); i < to; i++) {
+                        counts[text.charAt(i)]++;
+                    }
+                },
+                (counts, other) -> {
+                    for (int symbol = 0; symbol < ALPHABET; symbol++) {
+                        counts[symbol] += other[symbol];
+                    }
+                });
+        long[] frequencies = new long[ALPHABET];
+        for (int symbol = 0; symbol < ALPHABET; symbol++) {
+            frequencies[symbol] = histogram[symbol];
+        }
+        HuffmanCode code = HuffmanCode.build(frequencies);
+
+        BitWriter[] parts = IntStream.range(0, blocks).parallel()
+                .mapToObj(block -> {
+                    int to = to(block, length);
+                    BitWriter bits = new BitWriter((to - from(block)) / 2);
+                    for (int i = from(block); i < to; i++) {
+                        code.write(text.charAt(i), bits);
+                    }
+                    return bits;
+                })
+                .toArray(BitWriter[]::new);
+
+        long[] offsets = new long[blocks + 1];
+        for (int block = 0; block < blocks; block++) {
+            offsets[block + 1] = offsets[block] + parts[block].bitCount();
+        }
+        BitWriter all = new BitWriter((int) Math.min(Integer.MAX_VALUE - 8, (offsets[blocks] + 7) >>> 3));
+        for (BitWriter part : parts) {
+            all.write(part);
+        }
+        return new Encoded(code, all.toByteArray(), offsets, blockSize, length);
+    }
+
+    private int from(int block) {
+        return block * blockSize;
+    }
+
+    private int to(int block, int length) {
+        return (int) Math.min(length, (long) (block + 1) * blockSize);
+    }
+
+    //закодированный текст: общий код, склеенные биты и битовые смещения блоков
+    public static final class Encoded {
+        private final HuffmanCode code;
+        private final byte[] data;
+        private final long[] offsets;
+        private final int blockSize;
+        private final int length;
+
+        Encoded(HuffmanCode code, byte[] data, long[] offsets, int blockSize, int length) {
+            this.code = code;
+            this.data = data;
+            this.offsets = offsets;
+            this.blockSize = blockSize;
+            this.length = length;
+        }
+
+        public HuffmanCode code() {
+            return code;
+        }
+
+        public byte[] data() {
+            return data;
+        }
+
+        public long bitCount() {
+            return offsets[offsets.length - 1];
+        }
+
+        public int blockCount() {
+            return offsets.length - 1;
+        }
+
+        //битовое смещение начала блока block
+        public long blockOffset(int block) {
+            return offsets[block];
+        }
+
+        public String decodeBlock(int block) {
+            return decodeBlock(new HuffmanDecoder(code), block);
+        }
+
+        public String decode() {
+            HuffmanDecoder decoder = new HuffmanDecoder(code);
+            StringBuilder result = new StringBuilder(length);
+            for (int block = 0; block < blockCount(); block++) {
+                result.append(decodeBlock(decoder, block));
+            }
+            return result.toString();
+        }
+
+        private String decodeBlock(HuffmanDecoder decoder, int block) {
+            int size = (int) Math.min(blockSize, length - (long) block * blockSize);
+            BitReader in = new BitReader(data, (int) (offsets[block] >>> 3), data.length);
+            in.skip((int) (offsets[block] & 7));
+            char[] result = new char[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = (char) decoder.decode(in);
+            }
+            return new String(result);
+        }
+    }
+}
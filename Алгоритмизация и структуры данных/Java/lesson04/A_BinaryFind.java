@@ -1,8 +1,12 @@
 package by.it.group451003.kishkov.lesson04;
 
+import by.it.group451003.kishkov.io.FastReader;
+
 import java.io.FileNotFoundException;
 import java.io.InputStream;
-import java.util.Scanner;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /*
 В первой строке источника данных даны:
@@ -38,26 +42,126 @@ public class A_BinaryFind {
     }
 
     int[] findIndex(InputStream stream) {
-        Scanner scanner = new Scanner(stream);
+        FastReader reader = new FastReader(stream);
+        int[] result = findIndex(reader);
+        reader.close();
+        return result;
+    }
 
-        int n = scanner.nextInt();
+    int[] findIndex(FastReader reader) {
+        int n = reader.nextInt();
         int[] a = new int[n];
         for (int i = 0; i < n; i++) {
-            a[i] = scanner.nextInt();
+            a[i] = reader.nextInt();
         }
 
-        int k = scanner.nextInt();
+        //запросы читаются прямо в массив ответов и заменяются ответами на месте
+        int k = reader.nextInt();
         int[] result = new int[k];
         for (int i = 0; i < k; i++) {
-            int value = scanner.nextInt();
-            result[i] = binarySearch(a, value) + 1;
+            result[i] = reader.nextInt();
         }
 
-        scanner.close();
+        answer(a, result, SearchMode.PARALLEL);
+        return result;
+    }
+
+    //способы поиска:
+    //  BINARY    - классический бинарный поиск на каждый запрос
+    //  EYTZINGER - массив перекладывается в порядок Эйтцингера, спуски без ветвлений
+    //              идут пачками, чтобы промахи кеша разных запросов перекрывались
+    //  BATCH     - запросы сортируются и отвечаются одним проходом по массиву с галопом
+    //  PARALLEL  - бинарный поиск кусками запросов на ForkJoinPool; массив a общий
+    //              и только читается, каждый кусок пишет лишь в свою часть ответов
+    public enum SearchMode {
+        BINARY,
+        EYTZINGER,
+        BATCH,
+        PARALLEL
+    }
+
+    //меньше стольких запросов кусок отвечается в текущем потоке
+    private static final int PARALLEL_CUTOFF = 1 << 13;
+
+    //a - по возрастанию; ответы в порядке queries, в нумерации условия: 1..n или -1
+    public int[] find(int[] a, int[] queries, SearchMode mode) {
+        int[] result = queries.clone();
+        answer(a, result, mode);
         return result;
     }
 
-    private int binarySearch(int[] a, int value) {
+    //ответы на месте: до вызова values[i] - запрос, после - ответ на него
+    public void answer(int[] a, int[] values, SearchMode mode) {
+        int k = values.length;
+        switch (mode) {
+            case BINARY:
+                answerRange(a, values, 0, k);
+                break;
+            case EYTZINGER:
+                new EytzingerIndex(a).indexOfAll(values, values);
+                for (int i = 0; i < k; i++) {
+                    values[i] = values[i] < 0 ? -1 : values[i] + 1;
+                }
+                break;
+            case BATCH:
+                findSorted(a, values, values);
+                break;
+            case PARALLEL:
+                if (k < PARALLEL_CUTOFF) {
+                    answerRange(a, values, 0, k);
+                } else {
+                    ForkJoinPool.commonPool().invoke(new QueryTask(a, values, 0, k));
+                }
+                break;
+        }
+    }
+
+    private static void answerRange(int[] a, int[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            values[i] = binarySearch(a, values[i]) + 1;
+        }
+    }
+
+    //запросы по возрастанию, и нижняя граница каждого ищется от границы предыдущего:
+    //галоп шагами 1, 2, 4... до первого элемента не меньше запроса, затем бинарный поиск
+    //внутри последнего шага. Всего O(k log(n/k)) сравнений плюс сортировка запросов
+    private static void findSorted(int[] a, int[] queries, int[] result) {
+        int k = queries.length;
+        //в старших 32 битах значение (со знаком), в младших - номер запроса
+        long[] order = new long[k];
+        for (int i = 0; i < k; i++) {
+            order[i] = ((long) queries[i] << 32) | i;
+        }
+        Arrays.sort(order);
+
+        int n = a.length;
+        int from = 0;
+        for (long key : order) {
+            int value = (int) (key >> 32);
+            //a[from - 1] < value; ищется первый индекс из [from, n] с a[index] >= value
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < n && a[high] < value) {
+                low = high + 1;
+                high = from + step;
+                step <<= 1;
+            }
+            high = Math.min(high, n);
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (a[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            from = low;
+            result[(int) key] = low < n && a[low] == value ? low + 1 : -1;
+        }
+    }
+
+    private static int binarySearch(int[] a, int value) {
         int left = 0;
         int right = a.length - 1;
 
@@ -76,4 +180,30 @@ public class A_BinaryFind {
         return -2;
     }
 
+    private static class QueryTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] a;
+        private final int[] values;
+        private final int from;
+        private final int to;
+
+        QueryTask(int[] a, int[] values, int from, int to) {
+            this.a = a;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from < PARALLEL_CUTOFF) {
+                answerRange(a, values, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new QueryTask(a, values, from, mid), new QueryTask(a, values, mid, to));
+        }
+    }
+
 }
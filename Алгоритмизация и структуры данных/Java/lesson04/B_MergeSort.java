@@ -1,8 +1,11 @@
 package by.it.group451003.kishkov.lesson04;
 
+import by.it.group451003.kishkov.io.FastReader;
+
 import java.io.FileNotFoundException;
 import java.io.InputStream;
-import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /*
 Реализуйте сортировку слиянием для одномерного массива.
@@ -32,69 +35,193 @@ public class B_MergeSort {
     }
 
     int[] getMergeSort(InputStream stream) {
-        Scanner scanner = new Scanner(stream);
+        FastReader reader = new FastReader(stream);
+        int[] result = getMergeSort(reader);
+        reader.close();
+        return result;
+    }
 
-        int n = scanner.nextInt();
+    int[] getMergeSort(FastReader reader) {
+        int n = reader.nextInt();
         int[] a = new int[n];
         for (int i = 0; i < n; i++) {
-            a[i] = scanner.nextInt();
+            a[i] = reader.nextInt();
         }
 
-        mergeSort(a, 0, a.length - 1);
+        sort(a, SortMode.SEQUENTIAL);
 
-        scanner.close();
         return a;
     }
 
-    private void mergeSort(int[] a, int left, int right) {
-        if (left < right) {
-            int mid = left + (right - left) / 2;
+    //режимы сортировки: в один поток или на ForkJoinPool
+    public enum SortMode {
+        SEQUENTIAL,
+        PARALLEL
+    }
 
-            mergeSort(a, left, mid);
-            mergeSort(a, mid + 1, right);
+    //короткие серии досортировываются вставками
+    private static final int INSERTION_CUTOFF = 32;
+    //участки меньше этого размера сортируются и сливаются в текущем потоке
+    private static final int PARALLEL_CUTOFF = 1 << 13;
 
-            merge(a, left, mid, right);
+    public void sort(int[] a, SortMode mode) {
+        if (a.length < 2) {
+            return;
+        }
+        //единственный вспомогательный буфер на всю сортировку
+        int[] buffer = new int[a.length];
+        if (mode == SortMode.PARALLEL && a.length > PARALLEL_CUTOFF) {
+            ForkJoinPool.commonPool().invoke(new SortTask(a, buffer, 0, a.length - 1));
+        } else {
+            mergeSort(a, buffer, 0, a.length - 1);
         }
     }
 
-    private void merge(int[] a, int left, int mid, int right) {
-        int len1 = mid - left + 1;
-        int len2 = right - mid;
+    private static void mergeSort(int[] a, int[] buffer, int left, int right) {
+        if (right - left < INSERTION_CUTOFF) {
+            insertionSort(a, left, right);
+            return;
+        }
+        int mid = left + (right - left) / 2;
+
+        mergeSort(a, buffer, left, mid);
+        mergeSort(a, buffer, mid + 1, right);
 
-        int[] L = new int[len1];
-        int[] R = new int[len2];
+        merge(a, buffer, left, mid, right);
+    }
 
-        for (int i = 0; i < len1; i++) {
-            L[i] = a[left + i];
+    private static void insertionSort(int[] a, int left, int right) {
+        for (int i = left + 1; i <= right; i++) {
+            int temp = a[i];
+            int j = i - 1;
+            while (j >= left && a[j] > temp) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = temp;
         }
-        for (int j = 0; j < len2; j++) {
-            R[j] = a[mid + 1 + j];
+    }
+
+    //в буфер копируется только левая половина, правая сливается на месте
+    private static void merge(int[] a, int[] buffer, int left, int mid, int right) {
+        if (a[mid] <= a[mid + 1]) {
+            return;
         }
+        System.arraycopy(a, left, buffer, left, mid - left + 1);
 
-        int i = 0, j = 0, k = left;
-        while (i < len1 && j < len2) {
-            if (L[i] <= R[j]) {
-                a[k] = L[i];
-                i++;
+        int i = left, j = mid + 1, k = left;
+        while (i <= mid && j <= right) {
+            if (buffer[i] <= a[j]) {
+                a[k++] = buffer[i++];
             } else {
-                a[k] = R[j];
-                j++;
+                a[k++] = a[j++];
             }
-            k++;
         }
 
-        while (i < len1) {
-            a[k] = L[i];
-            i++;
-            k++;
+        while (i <= mid) {
+            a[k++] = buffer[i++];
         }
+    }
 
-        while (j < len2) {
-            a[k] = R[j];
-            j++;
-            k++;
+    //слияние двух отсортированных серий src[aLo..aHi) и src[bLo..bHi) в dst, начиная с dLo
+    private static void mergeRuns(int[] src, int aLo, int aHi, int bLo, int bHi, int[] dst, int dLo) {
+        int i = aLo, j = bLo, k = dLo;
+        while (i < aHi && j < bHi) {
+            if (src[i] <= src[j]) {
+                dst[k++] = src[i++];
+            } else {
+                dst[k++] = src[j++];
+            }
         }
+        System.arraycopy(src, i, dst, k, aHi - i);
+        System.arraycopy(src, j, dst, k + aHi - i, bHi - j);
     }
 
+    //первый индекс в src[lo..hi), где значение не меньше value
+    private static int lowerBound(int[] src, int lo, int hi, int value) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (src[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
 
+    private static class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] a;
+        private final int[] buffer;
+        private final int left;
+        private final int right;
+
+        SortTask(int[] a, int[] buffer, int left, int right) {
+            this.a = a;
+            this.buffer = buffer;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        protected void compute() {
+            if (right - left < PARALLEL_CUTOFF) {
+                mergeSort(a, buffer, left, right);
+                return;
+            }
+            int mid = left + (right - left) / 2;
+            invokeAll(new SortTask(a, buffer, left, mid), new SortTask(a, buffer, mid + 1, right));
+
+            if (a[mid] <= a[mid + 1]) {
+                return;
+            }
+            //обе половины уходят в буфер, а результат параллельно сливается обратно в a
+            System.arraycopy(a, left, buffer, left, right - left + 1);
+            new MergeTask(buffer, left, mid + 1, mid + 1, right + 1, a, left).compute();
+        }
+    }
+
+    //параллельное слияние: медиана большей серии делит обе серии на независимые части
+    private static class MergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src;
+        private final int aLo, aHi;
+        private final int bLo, bHi;
+        private final int[] dst;
+        private final int dLo;
+
+        MergeTask(int[] src, int aLo, int aHi, int bLo, int bHi, int[] dst, int dLo) {
+            this.src = src;
+            this.aLo = aLo;
+            this.aHi = aHi;
+            this.bLo = bLo;
+            this.bHi = bHi;
+            this.dst = dst;
+            this.dLo = dLo;
+        }
+
+        @Override
+        protected void compute() {
+            int lenA = aHi - aLo;
+            int lenB = bHi - bLo;
+            if (lenA + lenB <= PARALLEL_CUTOFF) {
+                mergeRuns(src, aLo, aHi, bLo, bHi, dst, dLo);
+                return;
+            }
+            if (lenA < lenB) {
+                //для чисел порядок серий при слиянии не важен
+                new MergeTask(src, bLo, bHi, aLo, aHi, dst, dLo).compute();
+                return;
+            }
+            int aMid = (aLo + aHi) >>> 1;
+            int bMid = lowerBound(src, bLo, bHi, src[aMid]);
+            int dMid = dLo + (aMid - aLo) + (bMid - bLo);
+            dst[dMid] = src[aMid];
+            invokeAll(new MergeTask(src, aLo, aMid, bLo, bMid, dst, dLo),
+                    new MergeTask(src, aMid + 1, aHi, bMid, bHi, dst, dMid + 1));
+        }
+    }
 }
@@ -0,0 +1,70 @@
+package by.it.group451003.kishkov.lesson04;
+
+import by.it.group451003.kishkov.bench.BenchmarkData;
+import by.it.group451003.kishkov.bench.BenchmarkData.Distribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+Сравнение способов поиска A_BinaryFind.SearchMode, результат - запросов в секунду.
+Массив - size возрастающих чисел, запросы - 10^6 случайных чисел из того же
+диапазона (примерно каждый второй находится). Запросы каждый раз копируются
+в массив ответов, копирование одинаково входит в замер всех режимов;
+у EYTZINGER в замер входит и перекладка массива.
+Для 10^8 элементов нужно около 1.5 ГБ кучи.
+*/
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BinarySearchBenchmark {
+
+    private static final int QUERIES = 1_000_000;
+
+    @Param({"100000", "10000000", "100000000"})
+    int size;
+
+    @Param({"BINARY", "EYTZINGER", "BATCH", "PARALLEL"})
+    A_BinaryFind.SearchMode mode;
+
+    private int[] sorted;
+    private int[] queries;
+
+    @Setup
+    public void setUp() {
+        //шаг 2 в среднем, так что около половины значений диапазона есть в массиве
+        sorted = BenchmarkData.ints(size, Distribution.RANDOM, 3);
+        for (int i = 1; i < size; i++) {
+            sorted[i] += sorted[i - 1];
+        }
+        Random random = new Random(BenchmarkData.SEED);
+        queries = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = 1 + random.nextInt(sorted[size - 1]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int[] find() {
+        int[] values = queries.clone();
+        new A_BinaryFind().answer(sorted, values, mode);
+        return values;
+    }
+}
@@ -1,8 +1,12 @@
 package by.it.group451003.kishkov.lesson04;
 
+import by.it.group451003.kishkov.io.FastReader;
+
 import java.io.FileNotFoundException;
 import java.io.InputStream;
-import java.util.Scanner;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /*
 Рассчитать число инверсий одномерного массива.
@@ -33,29 +37,63 @@ public class C_GetInversions {
         InputStream stream = C_GetInversions.class.getResourceAsStream("dataC.txt");
         C_GetInversions instance = new C_GetInversions();
         //long startTime = System.currentTimeMillis();
-        int result = instance.calc(stream);
+        long result = instance.calcLong(new FastReader(stream));
         //long finishTime = System.currentTimeMillis();
         System.out.print(result);
     }
 
     int calc(InputStream stream) {
-        Scanner scanner = new Scanner(stream);
+        FastReader reader = new FastReader(stream);
+        int result = calc(reader);
+        reader.close();
+        return result;
+    }
+
+    //число инверсий растет как n^2/2 и уже при ~65 тыс. элементов не помещается в int,
+    //поэтому int-вариант бросает ArithmeticException вместо молчаливого переполнения
+    int calc(FastReader reader) {
+        return Math.toIntExact(calcLong(reader));
+    }
 
-        int n = scanner.nextInt();
+    long calcLong(FastReader reader) {
+        int n = reader.nextInt();
         int[] a = new int[n];
         for (int i = 0; i < n; i++) {
-            a[i] = scanner.nextInt();
+            a[i] = reader.nextInt();
         }
 
-        int[] temp = new int[n];
-        int inversions = mergeSortAndCount(a, temp, 0, a.length - 1);
+        return countInversions(a, CountMode.MERGE);
+    }
 
-        scanner.close();
-        return inversions;
+    //способы подсчета:
+    //  MERGE    - сортировка слиянием, массив a упорядочивается
+    //  PARALLEL - то же на ForkJoinPool, включая параллельное слияние половин
+    //  FENWICK  - дерево Фенвика по сжатым координатам, массив a не изменяется
+    public enum CountMode {
+        MERGE,
+        PARALLEL,
+        FENWICK
+    }
+
+    //участки меньше этого размера считаются в текущем потоке
+    private static final int PARALLEL_CUTOFF = 1 << 13;
+
+    public long countInversions(int[] a, CountMode mode) {
+        if (a.length < 2) {
+            return 0;
+        }
+        if (mode == CountMode.FENWICK) {
+            return countWithFenwick(a);
+        }
+        int[] temp = new int[a.length];
+        if (mode == CountMode.PARALLEL && a.length > PARALLEL_CUTOFF) {
+            return ForkJoinPool.commonPool().invoke(new CountTask(a, temp, 0, a.length - 1));
+        }
+        return mergeSortAndCount(a, temp, 0, a.length - 1);
     }
 
-    private int mergeSortAndCount(int[] a, int[] temp, int left, int right) {
-        int inversions = 0;
+    private static long mergeSortAndCount(int[] a, int[] temp, int left, int right) {
+        long inversions = 0;
 
         if (left < right) {
             int mid = left + (right - left) / 2;
@@ -69,7 +107,7 @@ public class C_GetInversions {
         return inversions;
     }
 
-    private int mergeAndCount(int[] a, int[] temp, int left, int mid, int right) {
+    private static long mergeAndCount(int[] a, int[] temp, int left, int mid, int right) {
         for (int i = left; i <= right; i++) {
             temp[i] = a[i];
         }
@@ -77,7 +115,7 @@ public class C_GetInversions {
         int i = left;
         int j = mid + 1;
         int k = left;
-        int inversions = 0;
+        long inversions = 0;
 
         while (i <= mid && j <= right) {
             if (temp[i] <= temp[j]) {
@@ -99,4 +137,162 @@ public class C_GetInversions {
 
         return inversions;
     }
+
+    //для каждого элемента справа налево считаем, сколько уже добавленных значений строго меньше
+    private static long countWithFenwick(int[] a) {
+        int[] values = a.clone();
+        Arrays.sort(values);
+        int m = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i == 0 || values[i] != values[i - 1]) {
+                values[m++] = values[i];
+            }
+        }
+
+        int[] tree = new int[m + 1];
+        long inversions = 0;
+        for (int i = a.length - 1; i >= 0; i--) {
+            int rank = Arrays.binarySearch(values, 0, m, a[i]) + 1;
+            for (int r = rank - 1; r > 0; r -= r & -r) {
+                inversions += tree[r];
+            }
+            for (int r = rank; r <= m; r += r & -r) {
+                tree[r]++;
+            }
+        }
+        return inversions;
+    }
+
+    //первый индекс в src[lo..hi), где значение не меньше value
+    private static int lowerBound(int[] src, int lo, int hi, int value) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (src[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    //первый индекс в src[lo..hi), где значение больше value
+    private static int upperBound(int[] src, int lo, int hi, int value) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (src[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static class CountTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] a;
+        private final int[] temp;
+        private final int left;
+        private final int right;
+
+        CountTask(int[] a, int[] temp, int left, int right) {
+            this.a = a;
+            this.temp = temp;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        protected Long compute() {
+            if (right - left < PARALLEL_CUTOFF) {
+                return mergeSortAndCount(a, temp, left, right);
+            }
+            int mid = left + (right - left) / 2;
+            CountTask leftTask = new CountTask(a, temp, left, mid);
+            leftTask.fork();
+            long inversions = new CountTask(a, temp, mid + 1, right).compute();
+            inversions += leftTask.join();
+
+            //тот же temp, что и у последовательного варианта: половины копируются в него,
+            //а слияние с подсчетом идет параллельно обратно в a
+            System.arraycopy(a, left, temp, left, right - left + 1);
+            return inversions + new MergeCountTask(temp, left, mid + 1, mid + 1, right + 1, a, left).compute();
+        }
+    }
+
+    //слияние левой серии src[aLo..aHi) с правой src[bLo..bHi) в dst с подсчетом инверсий между ними.
+    //разделяющий элемент x берется из большей серии; все пары "левый >= x, правый < x"
+    //являются инверсиями и считаются сразу, остальные пары - в двух независимых подзадачах
+    private static class MergeCountTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src;
+        private final int aLo, aHi;
+        private final int bLo, bHi;
+        private final int[] dst;
+        private final int dLo;
+
+        MergeCountTask(int[] src, int aLo, int aHi, int bLo, int bHi, int[] dst, int dLo) {
+            this.src = src;
+            this.aLo = aLo;
+            this.aHi = aHi;
+            this.bLo = bLo;
+            this.bHi = bHi;
+            this.dst = dst;
+            this.dLo = dLo;
+        }
+
+        @Override
+        protected Long compute() {
+            int lenA = aHi - aLo;
+            int lenB = bHi - bLo;
+            if (lenA + lenB <= PARALLEL_CUTOFF) {
+                return mergeRuns();
+            }
+
+            long cross;
+            MergeCountTask low;
+            MergeCountTask high;
+            if (lenA >= lenB) {
+                int aMid = (aLo + aHi) >>> 1;
+                int x = src[aMid];
+                int bMid = lowerBound(src, bLo, bHi, x);
+                int dMid = dLo + (aMid - aLo) + (bMid - bLo);
+                dst[dMid] = x;
+                cross = (long) (aHi - aMid) * (bMid - bLo);
+                low = new MergeCountTask(src, aLo, aMid, bLo, bMid, dst, dLo);
+                high = new MergeCountTask(src, aMid + 1, aHi, bMid, bHi, dst, dMid + 1);
+            } else {
+                int bMid = (bLo + bHi) >>> 1;
+                int y = src[bMid];
+                int aMid = upperBound(src, aLo, aHi, y);
+                int dMid = dLo + (aMid - aLo) + (bMid - bLo);
+                dst[dMid] = y;
+                cross = (long) (aHi - aMid) * (bMid + 1 - bLo);
+                low = new MergeCountTask(src, aLo, aMid, bLo, bMid, dst, dLo);
+                high = new MergeCountTask(src, aMid, aHi, bMid + 1, bHi, dst, dMid + 1);
+            }
+            low.fork();
+            cross += high.compute();
+            return cross + low.join();
+        }
+
+        private long mergeRuns() {
+            int i = aLo, j = bLo, k = dLo;
+            long inversions = 0;
+            while (i < aHi && j < bHi) {
+                if (src[i] <= src[j]) {
+                    dst[k++] = src[i++];
+                } else {
+                    dst[k++] = src[j++];
+                    inversions += aHi - i;
+                }
+            }
+            System.arraycopy(src, i, dst, k, aHi - i);
+            System.arraycopy(src, j, dst, k + aHi - i, bHi - j);
+            return inversions;
+        }
+    }
 }
@@ -0,0 +1,79 @@
+package by.it.group451003.kishkov.lesson04;
+
+import by.it.group451003.kishkov.bench.BenchmarkData;
+import by.it.group451003.kishkov.bench.BenchmarkData.Distribution;
+import by.it.group451003.kishkov.io.FastReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/*
+JMH-бенчмарки урока 4: сортировка слиянием и подсчет инверсий.
+Замеряется полный путь урока - разбор входа и сам алгоритм.
+Запуск: см. by.it.group451003.kishkov.bench.BenchmarkRunner
+*/
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Lesson04Benchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "MANY_DUPLICATES"})
+    Distribution distribution;
+
+    private int[] values;
+    private byte[] input;
+
+    @Setup
+    public void setUp() {
+        values = BenchmarkData.ints(size, distribution, 1_000_000_000);
+        input = BenchmarkData.arrayInput(values);
+    }
+
+    @Benchmark
+    public int[] mergeSort() {
+        return new B_MergeSort().getMergeSort(reader());
+    }
+
+    //сортировка уже разобранного массива, без чтения входа
+    @Benchmark
+    public int[] sortSequential() {
+        int[] a = values.clone();
+        new B_MergeSort().sort(a, B_MergeSort.SortMode.SEQUENTIAL);
+        return a;
+    }
+
+    @Benchmark
+    public int[] sortParallel() {
+        int[] a = values.clone();
+        new B_MergeSort().sort(a, B_MergeSort.SortMode.PARALLEL);
+        return a;
+    }
+
+    //на случайных и обратных входах от 10^5 элементов инверсий больше Integer.MAX_VALUE
+    @Benchmark
+    public long inversions() {
+        return new C_GetInversions().calcLong(reader());
+    }
+
+    private FastReader reader() {
+        return new FastReader(new ByteArrayInputStream(input));
+    }
+}
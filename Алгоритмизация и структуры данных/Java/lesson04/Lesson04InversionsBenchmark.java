@@ -0,0 +1,54 @@
+package by.it.group451003.kishkov.lesson04;
+
+import by.it.group451003.kishkov.bench.BenchmarkData;
+import by.it.group451003.kishkov.bench.BenchmarkData.Distribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+Сравнение способов подсчета инверсий C_GetInversions.CountMode на больших массивах.
+Каждый вызов работает с копией массива (MERGE и PARALLEL его сортируют),
+копирование одинаково входит в замер всех режимов.
+Для 10^8 элементов нужно около 1.5 ГБ кучи.
+*/
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class Lesson04InversionsBenchmark {
+
+    @Param({"1000000", "10000000", "100000000"})
+    int size;
+
+    @Param({"RANDOM", "REVERSED", "MANY_DUPLICATES"})
+    Distribution distribution;
+
+    @Param({"MERGE", "PARALLEL", "FENWICK"})
+    C_GetInversions.CountMode mode;
+
+    private int[] values;
+
+    @Setup
+    public void setUp() {
+        values = BenchmarkData.ints(size, distribution, 1_000_000_000);
+    }
+
+    @Benchmark
+    public long countInversions() {
+        return new C_GetInversions().countInversions(values.clone(), mode);
+    }
+}
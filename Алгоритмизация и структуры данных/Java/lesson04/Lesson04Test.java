@@ -5,7 +5,9 @@ import org.junit.Test;
 
 import java.io.InputStream;
 import java.util.Arrays;
+import java.util.Random;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertTrue;
 
 public class Lesson04Test {
@@ -24,6 +26,29 @@ public class Lesson04Test {
         assertTrue("A failed", ok);
     }
 
+    @Test
+    public void checkA_modes() throws Exception {
+        A_BinaryFind instance = new A_BinaryFind();
+        Random random = new Random(451003);
+        //размеры вокруг полных деревьев Эйтцингера и пустой массив
+        for (int n : new int[]{0, 1, 2, 3, 7, 8, 15, 16, 1000, 65535, 65536}) {
+            int[] a = new int[n];
+            int value = -50;
+            for (int i = 0; i < n; i++) {
+                value += 1 + random.nextInt(3);
+                a[i] = value;
+            }
+            int[] queries = new int[3 * n + 10];
+            for (int i = 0; i < queries.length; i++) {
+                queries[i] = -60 + random.nextInt(3 * n + 30);
+            }
+            int[] expected = instance.find(a, queries, A_BinaryFind.SearchMode.BINARY);
+            for (A_BinaryFind.SearchMode mode : A_BinaryFind.SearchMode.values()) {
+                assertArrayEquals("A " + mode + " failed, n=" + n, expected, instance.find(a, queries, mode));
+            }
+        }
+    }
+
 
     @Test
     public void checkB() throws Exception {
@@ -42,6 +67,18 @@ public class Lesson04Test {
         assertTrue("B failed", ok);
     }
 
+    @Test(timeout = 5000)
+    public void checkB_modes() throws Exception {
+        int[] source = new Random(451003).ints(300_000, 0, 1_000_000).toArray();
+        int[] test = source.clone();
+        Arrays.sort(test);
+        for (B_MergeSort.SortMode mode : B_MergeSort.SortMode.values()) {
+            int[] result = source.clone();
+            new B_MergeSort().sort(result, mode);
+            assertTrue("B " + mode + " failed", Arrays.equals(result, test));
+        }
+    }
+
 
     @Test
     public void checkC() throws Exception {
@@ -55,4 +92,30 @@ public class Lesson04Test {
 
     }
 
+    @Test(timeout = 5000)
+    public void checkC_modes() throws Exception {
+        int[] source = new Random(451003).ints(3000, 0, 100).toArray();
+        long expected = 0;
+        for (int i = 0; i < source.length; i++) {
+            for (int j = i + 1; j < source.length; j++) {
+                if (source[i] > source[j]) expected++;
+            }
+        }
+        C_GetInversions instance = new C_GetInversions();
+        for (C_GetInversions.CountMode mode : C_GetInversions.CountMode.values()) {
+            assertTrue("C " + mode + " failed", instance.countInversions(source.clone(), mode) == expected);
+        }
+
+        //обратный порядок: n(n-1)/2 инверсий, больше Integer.MAX_VALUE
+        int n = 100_000;
+        int[] reversed = new int[n];
+        for (int i = 0; i < n; i++) {
+            reversed[i] = n - i;
+        }
+        for (C_GetInversions.CountMode mode : C_GetInversions.CountMode.values()) {
+            long result = instance.countInversions(reversed.clone(), mode);
+            assertTrue("C reversed " + mode + " failed", result == (long) n * (n - 1) / 2);
+        }
+    }
+
 }
@@ -1,9 +1,9 @@
 package by.it.group451003.kishkov.lesson05;
 
+import by.it.group451003.kishkov.io.FastReader;
+
 import java.io.FileNotFoundException;
 import java.io.InputStream;
-import java.util.Arrays;
-import java.util.Scanner;
 
 /*
 Видеорегистраторы и площадь.
@@ -47,84 +47,86 @@ public class A_QSort {
     }
 
     int[] getAccessory(InputStream stream) {
-        Scanner scanner = new Scanner(stream);
-        int n = scanner.nextInt();
-        int m = scanner.nextInt();
-        Segment[] segments = new Segment[n];
+        FastReader reader = new FastReader(stream);
+        int[] result = getAccessory(reader);
+        reader.close();
+        return result;
+    }
+
+    int[] getAccessory(FastReader reader) {
+        int n = reader.nextInt();
+        int m = reader.nextInt();
+        SegmentArray segments = new SegmentArray(n);
         int[] points = new int[m];
         int[] result = new int[m];
 
         for (int i = 0; i < n; i++) {
-            int start = scanner.nextInt();
-            int end = scanner.nextInt();
-            segments[i] = new Segment(start, end);
+            int start = reader.nextInt();
+            int end = reader.nextInt();
+            segments.add(start, end);
         }
 
         for (int i = 0; i < m; i++) {
-            points[i] = scanner.nextInt();
+            points[i] = reader.nextInt();
         }
 
-        quickSort(segments, 0, segments.length - 1);
+        quickSort(segments, 0, segments.size() - 1);
 
+        SegmentCoverage coverage = segments.coverage();
         for (int i = 0; i < m; i++) {
-            result[i] = countCoveringSegments(segments, points[i]);
+            result[i] = coverage.count(points[i]);
         }
 
-        scanner.close();
         return result;
     }
 
-    private void quickSort(Segment[] segments, int low, int high) {
-        if (low < high) {
-            int pivotIndex = partition(segments, low, high);
-            quickSort(segments, low, pivotIndex - 1);
-            quickSort(segments, pivotIndex + 1, high);
-        }
-    }
-
-    private int partition(Segment[] segments, int low, int high) {
-        Segment pivot = segments[high];
-        int i = low - 1;
-
-        for (int j = low; j < high; j++) {
-            if (segments[j].compareTo(pivot) <= 0) {
-                i++;
-                swap(segments, i, j);
+    //границы средней части последнего разбиения: на [lt, gt] стоят элементы, равные опорному
+    private int lt;
+    private int gt;
+
+    //быстрая сортировка на месте по началам: 3-разбиение, опорный элемент - медиана трех.
+    //Рекурсия только в меньшую часть, большая обрабатывается циклом, так что стек O(log n)
+    //и на уже отсортированном входе, а равные начала не делятся дальше вовсе
+    private void quickSort(SegmentArray segments, int low, int high) {
+        while (low < high) {
+            partition(segments, low, high);
+            if (lt - low < high - gt) {
+                quickSort(segments, low, lt - 1);
+                low = gt + 1;
+            } else {
+                quickSort(segments, gt + 1, high);
+                high = lt - 1;
             }
         }
-
-        swap(segments, i + 1, high);
-        return i + 1;
-    }
-
-    private void swap(Segment[] arr, int i, int j) {
-        Segment temp = arr[i];
-        arr[i] = arr[j];
-        arr[j] = temp;
     }
 
-    private int countCoveringSegments(Segment[] segments, int point) {
-        int count = 0;
-        for (Segment seg : segments) {
-            if (seg.start > point) break;
-            if (point <= seg.stop) count++;
+    //разбиение Дейкстры ("голландский флаг"): < опорного, = опорному, > опорного
+    private void partition(SegmentArray segments, int low, int high) {
+        int pivot = segments.start(medianOfThree(segments, low, low + (high - low) / 2, high));
+        int i = low, j = low, k = high;
+
+        while (j <= k) {
+            int start = segments.start(j);
+            if (start < pivot) {
+                segments.swap(i++, j++);
+            } else if (start > pivot) {
+                segments.swap(j, k--);
+            } else {
+                j++;
+            }
         }
-        return count;
+        lt = i;
+        gt = k;
     }
 
-    private class Segment implements Comparable<Segment> {
-        int start;
-        int stop;
-
-        Segment(int start, int stop) {
-            this.start = Math.min(start, stop);
-            this.stop = Math.max(start, stop);
-        }
-
-        @Override
-        public int compareTo(Segment o) {
-            return Integer.compare(this.start, o.start);
+    private static int medianOfThree(SegmentArray segments, int a, int b, int c) {
+        int x = segments.start(a);
+        int y = segments.start(b);
+        int z = segments.start(c);
+        if (x < y) {
+            return y < z ? b : (x < z ? c : a);
         }
+        return x < z ? a : (y < z ? c : b);
     }
 
 }
@@ -1,8 +1,9 @@
 package by.it.group451003.kishkov.lesson05;
 
+import by.it.group451003.kishkov.io.FastReader;
+
 import java.io.FileNotFoundException;
 import java.io.InputStream;
-import java.util.Scanner;
 
 /*
 Первая строка содержит число 1<=n<=10000, вторая - n натуральных чисел, не превышающих 10.
@@ -27,13 +28,19 @@ public class B_CountSort {
     }
 
     int[] countSort(InputStream stream) {
-        Scanner scanner = new Scanner(stream);
-        int n = scanner.nextInt();
+        FastReader reader = new FastReader(stream);
+        int[] result = countSort(reader);
+        reader.close();
+        return result;
+    }
+
+    int[] countSort(FastReader reader) {
+        int n = reader.nextInt();
         int[] points = new int[n];
 
         // Чтение входных данных
         for (int i = 0; i < n; i++) {
-            points[i] = scanner.nextInt();
+            points[i] = reader.nextInt();
         }
 
 
@@ -51,7 +58,6 @@ public class B_CountSort {
             }
         }
 
-        scanner.close();
         return points;
     }
 
@@ -1,8 +1,9 @@
 package by.it.group451003.kishkov.lesson05;
 
+import by.it.group451003.kishkov.io.FastReader;
+
 import java.io.FileNotFoundException;
 import java.io.InputStream;
-import java.util.Scanner;
 
 /*
 Видеорегистраторы и площадь 2.
@@ -31,6 +32,9 @@ import java.util.Scanner;
 
 public class C_QSortOptimized {
 
+    //сортировщик переиспользуется между вызовами getAccessory2
+    private final SegmentSorter sorter = new SegmentSorter();
+
     public static void main(String[] args) throws FileNotFoundException {
         InputStream stream = C_QSortOptimized.class.getResourceAsStream("dataC.txt");
         C_QSortOptimized instance = new C_QSortOptimized();
@@ -41,107 +45,33 @@ public class C_QSortOptimized {
     }
 
     int[] getAccessory2(InputStream stream) {
-        Scanner scanner = new Scanner(stream);
-        int n = scanner.nextInt();
-        Segment[] segments = new Segment[n];
-        int m = scanner.nextInt();
+        FastReader reader = new FastReader(stream);
+        int[] result = getAccessory2(reader);
+        reader.close();
+        return result;
+    }
+
+    int[] getAccessory2(FastReader reader) {
+        int n = reader.nextInt();
+        SegmentArray segments = new SegmentArray(n);
+        int m = reader.nextInt();
         int[] points = new int[m];
-        int[] result = new int[m];
 
         // Чтение отрезков
         for (int i = 0; i < n; i++) {
-            segments[i] = new Segment(scanner.nextInt(), scanner.nextInt());
+            segments.add(reader.nextInt(), reader.nextInt());
         }
 
         // Чтение точек
         for (int i = 0; i < m; i++) {
-            points[i] = scanner.nextInt();
-        }
-
-        quickSort(segments, 0, segments.length - 1);
-
-        for (int i = 0; i < m; i++) {
-            result[i] = countCoveringSegments(segments, points[i]);
+            points[i] = reader.nextInt();
         }
 
-        scanner.close();
-        return result;
-    }
-
-    private void quickSort(Segment[] segments, int low, int high) {
-        while (low < high) {
-            int[] pivot = partition(segments, low, high);
-            quickSort(segments, low, pivot[0] - 1);
-            low = pivot[1] + 1;
-        }
-    }
+        //упорядоченные здесь начала идут в SegmentCoverage как есть, досортировываются только концы
+        sorter.sort(segments);
 
-    private int[] partition(Segment[] segments, int low, int high) {
-        Segment pivot = segments[low + (high - low) / 2];
-        int i = low, j = low, k = high;
-
-        while (j <= k) {
-            int cmp = segments[j].compareTo(pivot);
-            if (cmp < 0) {
-                swap(segments, i++, j++);
-            } else if (cmp > 0) {
-                swap(segments, j, k--);
-            } else {
-                j++;
-            }
-        }
-        return new int[]{i, k};
-    }
-
-    private void swap(Segment[] arr, int i, int j) {
-        Segment temp = arr[i];
-        arr[i] = arr[j];
-        arr[j] = temp;
-    }
-
-    private int countCoveringSegments(Segment[] segments, int point) {
-        int first = findFirstCovering(segments, point);
-        if (first == -1) return 0;
-
-        int count = 1;
-        for (int i = first + 1; i < segments.length && segments[i].start <= point; i++) {
-            if (point <= segments[i].stop) count++;
-        }
-        return count;
-    }
-
-    private int findFirstCovering(Segment[] segments, int point) {
-        int left = 0, right = segments.length - 1, result = -1;
-
-        while (left <= right) {
-            int mid = left + (right - left) / 2;
-            if (segments[mid].start <= point) {
-                if (point <= segments[mid].stop) {
-                    result = mid;
-                    right = mid - 1;  // Ищем самый левый
-                } else {
-                    left = mid + 1;
-                }
-            } else {
-                right = mid - 1;
-            }
-        }
-        return result;
-    }
-
-    private class Segment implements Comparable<Segment> {
-        int start;
-        int stop;
-
-        Segment(int start, int stop) {
-            this.start = Math.min(start, stop);
-            this.stop = Math.max(start, stop);
-        }
-
-        @Override
-        public int compareTo(Segment o) {
-            return Integer.compare(this.start, o.start);
-        }
+        // Все точки обрабатываются одним проходом по отсортированным началам и концам
+        return segments.coverage().countAll(points);
     }
 
 }
@@ -0,0 +1,74 @@
+package by.it.group451003.kishkov.lesson05;
+
+import by.it.group451003.kishkov.bench.BenchmarkData;
+import by.it.group451003.kishkov.bench.BenchmarkData.Distribution;
+import by.it.group451003.kishkov.io.FastReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+JMH-бенчмарки урока 5: A_QSort против C_QSortOptimized.
+size - одновременно число отрезков и число точек.
+
+Наивный A_QSort квадратичен на SORTED/MANY_DUPLICATES (и глубоко рекурсивен),
+поэтому размеры по умолчанию ограничены 10^5. Большие размеры задаются явно:
+    -p size=1000000,10000000
+*/
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Lesson05Benchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "MANY_DUPLICATES"})
+    Distribution distribution;
+
+    private byte[] input;
+
+    @Setup
+    public void setUp() {
+        int[] starts = BenchmarkData.ints(size, distribution, 100_000_000);
+        int[] points = BenchmarkData.ints(size, Distribution.RANDOM, 100_000_000);
+        Random random = new Random(BenchmarkData.SEED);
+        StringBuilder sb = new StringBuilder(size * 30);
+        sb.append(size).append(' ').append(size).append('\n');
+        for (int start : starts) {
+            sb.append(start).append(' ').append(start + random.nextInt(1_000_000)).append('\n');
+        }
+        BenchmarkData.appendValues(sb, points);
+        input = BenchmarkData.bytes(sb);
+    }
+
+    @Benchmark
+    public int[] quickSort() {
+        return new A_QSort().getAccessory(reader());
+    }
+
+    @Benchmark
+    public int[] quickSortOptimized() {
+        return new C_QSortOptimized().getAccessory2(reader());
+    }
+
+    private FastReader reader() {
+        return new FastReader(new ByteArrayInputStream(input));
+    }
+}
@@ -2,10 +2,13 @@ package by.it.group451003.kishkov.lesson05;
 
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.Arrays;
+import java.util.Random;
 
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class Lesson05Test {
     @Test
@@ -37,4 +40,177 @@ public class Lesson05Test {
         assertTrue("C failed", ok);
     }
 
+    @Test
+    public void checkCoverage() throws Exception {
+        Random random = new Random(451003);
+        int n = 2000;
+        int[] starts = new int[n];
+        int[] stops = new int[n];
+        for (int i = 0; i < n; i++) {
+            starts[i] = random.nextInt(2000) - 1000;
+            stops[i] = starts[i] + random.nextInt(100);
+        }
+        int[] points = random.ints(3000, -1100, 1100).toArray();
+        int[] expected = new int[points.length];
+        for (int j = 0; j < points.length; j++) {
+            for (int i = 0; i < n; i++) {
+                if (starts[i] <= points[j] && points[j] <= stops[i]) expected[j]++;
+            }
+        }
+
+        try {
+            new SegmentCoverage(starts.clone(), stops.clone());
+            fail("Coverage accepted unsorted starts");
+        } catch (IllegalArgumentException rejected) {
+        }
+        //для подсчета важны только наборы начал и концов, пары между собой не связаны
+        Arrays.sort(starts);
+        SegmentCoverage coverage = new SegmentCoverage(starts, stops);
+        int[] single = new int[points.length];
+        for (int j = 0; j < points.length; j++) {
+            single[j] = coverage.count(points[j]);
+        }
+        assertTrue("Coverage count failed", Arrays.equals(single, expected));
+        assertTrue("Coverage countAll failed", Arrays.equals(coverage.countAll(points), expected));
+    }
+
+    @Test
+    public void checkAC_random() throws Exception {
+        Random random = new Random(451003);
+        int n = 3000, m = 3000;
+        int[][] segments = new int[n][2];
+        StringBuilder input = new StringBuilder().append(n).append(' ').append(m).append('\n');
+        for (int[] segment : segments) {
+            //концы отрезка могут быть перепутаны местами
+            segment[0] = random.nextInt(1000);
+            segment[1] = random.nextInt(1000);
+            input.append(segment[0]).append(' ').append(segment[1]).append('\n');
+        }
+        int[] points = random.ints(m, -10, 1010).toArray();
+        int[] expected = new int[m];
+        for (int j = 0; j < m; j++) {
+            input.append(points[j]).append(' ');
+            for (int[] segment : segments) {
+                if (Math.min(segment[0], segment[1]) <= points[j] && points[j] <= Math.max(segment[0], segment[1])) {
+                    expected[j]++;
+                }
+            }
+        }
+        byte[] data = input.toString().getBytes();
+
+        int[] resultA = new A_QSort().getAccessory(new ByteArrayInputStream(data));
+        assertTrue("A random failed", Arrays.equals(resultA, expected));
+        int[] resultC = new C_QSortOptimized().getAccessory2(new ByteArrayInputStream(data));
+        assertTrue("C random failed", Arrays.equals(resultC, expected));
+    }
+
+    @Test(timeout = 5000)
+    public void checkA_sortedInput() throws Exception {
+        //возрастающие и равные начала: на них 2-разбиение уходило в O(n^2) и переполнение стека
+        int n = 100_000;
+        int m = 100;
+        Random random = new Random(451003);
+        for (boolean equalStarts : new boolean[]{false, true}) {
+            int[] starts = new int[n];
+            int[] stops = new int[n];
+            StringBuilder input = new StringBuilder();
+            input.append(n).append(' ').append(m).append('\n');
+            for (int i = 0; i < n; i++) {
+                starts[i] = equalStarts ? 5 : i;
+                stops[i] = starts[i] + random.nextInt(50);
+                input.append(starts[i]).append(' ').append(stops[i]).append('\n');
+            }
+            int[] points = random.ints(m, -10, n + 60).toArray();
+            int[] expected = new int[m];
+            for (int j = 0; j < m; j++) {
+                input.append(points[j]).append(' ');
+                for (int i = 0; i < n; i++) {
+                    if (starts[i] <= points[j] && points[j] <= stops[i]) expected[j]++;
+                }
+            }
+            int[] result = new A_QSort().getAccessory(new ByteArrayInputStream(input.toString().getBytes()));
+            assertTrue("A sorted input failed, equal starts " + equalStarts, Arrays.equals(result, expected));
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void checkSorter() throws Exception {
+        int n = 200_000;
+        Random random = new Random(451003);
+        SegmentSorter sorter = new SegmentSorter();
+        for (int kind = 0; kind < 5; kind++) {
+            SegmentArray segments = new SegmentArray(n);
+            long[] expected = new long[n];
+            for (int i = 0; i < n; i++) {
+                int start;
+                switch (kind) {
+                    //случайные, в пределах условия, чтобы start + 1000 не переполнялся
+                    case 0: start = random.nextInt(2_000_000_001) - 1_000_000_000; break;
+                    case 1: start = i; break;                    //возрастающие
+                    case 2: start = n - i; break;                //убывающие
+                    case 3: start = 7; break;                    //все равны
+                    default: start = Math.min(i, n - i); break;  //"пирамида"
+                }
+                int stop = start + random.nextInt(1000);
+                segments.add(start, stop);
+                expected[i] = ((long) start << 32) | (stop - start);
+            }
+            sorter.sort(segments);
+
+            long[] actual = new long[n];
+            boolean ok = true;
+            for (int i = 0; i < n; i++) {
+                ok = ok && (i == 0 || segments.start(i - 1) <= segments.start(i));
+                actual[i] = ((long) segments.start(i) << 32) | (segments.stop(i) - segments.start(i));
+            }
+            Arrays.sort(expected);
+            Arrays.sort(actual);
+            assertTrue("Sorter failed " + kind, ok && Arrays.equals(actual, expected));
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void checkSorterHeapFallback() throws Exception {
+        //depthFactor 0 - весь массив сортируется пирамидой, 1 - пирамида после нескольких разбиений
+        int n = 100_000;
+        Random random = new Random(451003);
+        for (int depthFactor = 0; depthFactor <= 1; depthFactor++) {
+            SegmentSorter sorter = new SegmentSorter(depthFactor);
+            for (int kind = 0; kind < 3; kind++) {
+                SegmentArray segments = new SegmentArray(n);
+                long[] expected = new long[n];
+                for (int i = 0; i < n; i++) {
+                    int start;
+                    switch (kind) {
+                        case 0: start = random.nextInt(2_000_000_001) - 1_000_000_000; break;
+                        case 1: start = random.nextInt(50); break;    //много равных
+                        default: start = n - i; break;                //убывающие
+                    }
+                    int stop = start + random.nextInt(1000);
+                    segments.add(start, stop);
+                    expected[i] = ((long) start << 32) | (stop - start);
+                }
+                sorter.sort(segments);
+
+                long[] actual = new long[n];
+                for (int i = 0; i < n; i++) {
+                    actual[i] = ((long) segments.start(i) << 32) | (segments.stop(i) - segments.start(i));
+                }
+                //начала должны совпасть с Arrays.sort, пары - как мультимножество
+                long[] starts = new long[n];
+                for (int i = 0; i < n; i++) {
+                    starts[i] = actual[i] >> 32;
+                }
+                Arrays.sort(expected);
+                long[] expectedStarts = new long[n];
+                for (int i = 0; i < n; i++) {
+                    expectedStarts[i] = expected[i] >> 32;
+                }
+                Arrays.sort(actual);
+                assertTrue("Heap fallback failed " + depthFactor + " " + kind,
+                        Arrays.equals(starts, expectedStarts) && Arrays.equals(actual, expected));
+            }
+        }
+    }
+
 }
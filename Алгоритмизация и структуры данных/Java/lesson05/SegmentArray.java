@@ -0,0 +1,58 @@
+package by.it.group451003.kishkov.lesson05;
+
+import java.util.Arrays;
+
+/*
+Набор отрезков в виде двух параллельных примитивных массивов.
+
+Вместо объекта Segment на каждый отрезок (заголовок объекта, ссылка на
+внешний класс и два int, плюс ссылка в массиве) хранится ровно 8 байт:
+starts[i] и stops[i]. Сортировки работают прямо с этими массивами,
+без разыменования ссылок при сравнении и обмене.
+*/
+
+public class SegmentArray {
+
+    private final int[] starts;
+    private final int[] stops;
+    private int size = 0;
+
+    SegmentArray(int capacity) {
+        starts = new int[capacity];
+        stops = new int[capacity];
+    }
+
+    //концы отрезка могут прийти в любом порядке
+    void add(int start, int stop) {
+        starts[size] = Math.min(start, stop);
+        stops[size] = Math.max(start, stop);
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int start(int i) {
+        return starts[i];
+    }
+
+    int stop(int i) {
+        return stops[i];
+    }
+
+    void swap(int i, int j) {
+        int temp = starts[i];
+        starts[i] = starts[j];
+        starts[j] = temp;
+        temp = stops[i];
+        stops[i] = stops[j];
+        stops[j] = temp;
+    }
+
+    //счетчик покрытия по копиям массивов, сами отрезки не меняются.
+    //Отрезки к этому моменту должны быть отсортированы по началам
+    SegmentCoverage coverage() {
+        return new SegmentCoverage(Arrays.copyOf(starts, size), Arrays.copyOf(stops, size));
+    }
+}
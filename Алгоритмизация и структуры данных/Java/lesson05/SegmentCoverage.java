@@ -0,0 +1,92 @@
+package by.it.group451003.kishkov.lesson05;
+
+import java.util.Arrays;
+
+/*
+Подсчет числа отрезков, покрывающих точку, через префиксные счетчики.
+
+Отрезок [a, b] содержит точку p тогда и только тогда, когда a <= p и не b < p,
+поэтому число покрывающих отрезков равно
+    count(start <= p) - count(stop < p)
+и по отсортированным началам и концам считается двумя бинарными поисками,
+независимо от того, сколько отрезков покрывает точку.
+
+Начала приходят уже упорядоченными - это результат сортировки отрезков
+в самом уроке (A_QSort, SegmentSorter); здесь сортируются только концы.
+
+Для пачки точек есть офлайн-режим: точки сортируются, и все ответы
+получаются за один совместный проход по трем отсортированным массивам.
+*/
+
+public class SegmentCoverage {
+
+    private final int[] starts;
+    private final int[] stops;
+
+    //массивы начал и концов (start <= stop) передаются во владение:
+    //starts должен быть по неубыванию, stops сортируется на месте
+    SegmentCoverage(int[] sortedStarts, int[] stops) {
+        for (int i = 1; i < sortedStarts.length; i++) {
+            if (sortedStarts[i - 1] > sortedStarts[i]) {
+                throw new IllegalArgumentException("starts are not sorted at " + i);
+            }
+        }
+        this.starts = sortedStarts;
+        this.stops = stops;
+        Arrays.sort(this.stops);
+    }
+
+    int count(int point) {
+        return upperBound(starts, point) - lowerBound(stops, point);
+    }
+
+    //ответы для всех точек в порядке их следования в points
+    int[] countAll(int[] points) {
+        int m = points.length;
+        //в старших 32 битах точка (со знаком), в младших - ее исходный номер
+        long[] order = new long[m];
+        for (int i = 0; i < m; i++) {
+            order[i] = ((long) points[i] << 32) | i;
+        }
+        Arrays.sort(order);
+
+        int[] result = new int[m];
+        int s = 0;
+        int e = 0;
+        for (long key : order) {
+            int point = (int) (key >> 32);
+            while (s < starts.length && starts[s] <= point) s++;
+            while (e < stops.length && stops[e] < point) e++;
+            result[(int) key] = s - e;
+        }
+        return result;
+    }
+
+    //число элементов, не больших value
+    private static int upperBound(int[] a, int value) {
+        int left = 0, right = a.length;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (a[mid] <= value) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+
+    //число элементов, строго меньших value
+    private static int lowerBound(int[] a, int value) {
+        int left = 0, right = a.length;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (a[mid] < value) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+}
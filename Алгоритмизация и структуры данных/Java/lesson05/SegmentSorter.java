@@ -0,0 +1,149 @@
+package by.it.group451003.kishkov.lesson05;
+
+/*
+Многоразовая сортировка SegmentArray по началам отрезков (интроспективная).
+
+    - 3-разбиение Дейкстры: равные опорному элементы сразу встают на место,
+      границы средней части возвращаются через поля lt/gt, без new int[]{...}
+    - опорный элемент - медиана трех, а на длинных участках медиана трех медиан (ninther)
+    - рекурсия только в меньшую часть, большая обрабатывается циклом: стек O(log n)
+    - при превышении глубины 2*log2(n) участок досортировывается пирамидой,
+      так что даже специально подобранный вход не дает O(n^2)
+    - короткие участки досортировываются вставками
+
+Экземпляр не потокобезопасен, но его можно переиспользовать между вызовами.
+*/
+
+public class SegmentSorter {
+
+    private static final int INSERTION_THRESHOLD = 16;
+    private static final int NINTHER_THRESHOLD = 128;
+
+    //предел глубины - depthFactor * log2(n); 0 сразу переходит к пирамиде
+    private final int depthFactor;
+
+    //результат последнего разбиения: на [lt, gt] стоят элементы, равные опорному
+    private int lt;
+    private int gt;
+
+    public SegmentSorter() {
+        this(2);
+    }
+
+    //меньший множитель нужен тестам, чтобы дойти до досортировки пирамидой
+    SegmentSorter(int depthFactor) {
+        if (depthFactor < 0) {
+            throw new IllegalArgumentException("depthFactor < 0: " + depthFactor);
+        }
+        this.depthFactor = depthFactor;
+    }
+
+    void sort(SegmentArray segments) {
+        sort(segments, 0, segments.size() - 1);
+    }
+
+    void sort(SegmentArray segments, int low, int high) {
+        if (low >= high) {
+            return;
+        }
+        int depthLimit = depthFactor * (32 - Integer.numberOfLeadingZeros(high - low + 1));
+        introSort(segments, low, high, depthLimit);
+    }
+
+    private void introSort(SegmentArray segments, int low, int high, int depthLimit) {
+        while (high - low >= INSERTION_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(segments, low, high);
+                return;
+            }
+            partition(segments, low, high);
+            int leftHigh = lt - 1;
+            int rightLow = gt + 1;
+            if (leftHigh - low < high - rightLow) {
+                introSort(segments, low, leftHigh, depthLimit);
+                low = rightLow;
+            } else {
+                introSort(segments, rightLow, high, depthLimit);
+                high = leftHigh;
+            }
+        }
+        insertionSort(segments, low, high);
+    }
+
+    private void partition(SegmentArray segments, int low, int high) {
+        int pivot = segments.start(choosePivot(segments, low, high));
+        int i = low, j = low, k = high;
+
+        while (j <= k) {
+            int start = segments.start(j);
+            if (start < pivot) {
+                segments.swap(i++, j++);
+            } else if (start > pivot) {
+                segments.swap(j, k--);
+            } else {
+                j++;
+            }
+        }
+        lt = i;
+        gt = k;
+    }
+
+    private static int choosePivot(SegmentArray segments, int low, int high) {
+        int mid = low + (high - low) / 2;
+        if (high - low < NINTHER_THRESHOLD) {
+            return median(segments, low, mid, high);
+        }
+        int step = (high - low) / 8;
+        int first = median(segments, low, low + step, low + 2 * step);
+        int second = median(segments, mid - step, mid, mid + step);
+        int third = median(segments, high - 2 * step, high - step, high);
+        return median(segments, first, second, third);
+    }
+
+    //индекс медианы из трех по началам отрезков
+    private static int median(SegmentArray segments, int a, int b, int c) {
+        int x = segments.start(a);
+        int y = segments.start(b);
+        int z = segments.start(c);
+        if (x < y) {
+            return y < z ? b : (x < z ? c : a);
+        }
+        return x < z ? a : (y < z ? c : b);
+    }
+
+    private static void insertionSort(SegmentArray segments, int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && segments.start(j - 1) > segments.start(j); j--) {
+                segments.swap(j, j - 1);
+            }
+        }
+    }
+
+    private static void heapSort(SegmentArray segments, int low, int high) {
+        int n = high - low + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(segments, low, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            segments.swap(low, low + end);
+            siftDown(segments, low, 0, end);
+        }
+    }
+
+    private static void siftDown(SegmentArray segments, int offset, int i, int n) {
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) {
+                return;
+            }
+            if (child + 1 < n && segments.start(offset + child + 1) > segments.start(offset + child)) {
+                child++;
+            }
+            if (segments.start(offset + i) >= segments.start(offset + child)) {
+                return;
+            }
+            segments.swap(offset + i, offset + child);
+            i = child;
+        }
+    }
+}
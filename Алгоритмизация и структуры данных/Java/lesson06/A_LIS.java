@@ -1,8 +1,9 @@
 package by.it.group451003.kishkov.lesson06;
 
+import by.it.group451003.kishkov.io.FastReader;
+
 import java.io.FileNotFoundException;
 import java.io.InputStream;
-import java.util.Scanner;
 
 /*
 Задача на программирование: наибольшая возрастающая подпоследовательность
@@ -40,33 +41,58 @@ public class A_LIS {
     }
 
     int getSeqSize(InputStream stream) {
-        Scanner scanner = new Scanner(stream);
+        FastReader reader = new FastReader(stream);
+        int result = getSeqSize(reader);
+        reader.close();
+        return result;
+    }
 
-        int n = scanner.nextInt();
+    int getSeqSize(FastReader reader) {
+        int n = reader.nextInt();
         int[] sequence = new int[n];
 
         for (int i = 0; i < n; i++) {
-            sequence[i] = scanner.nextInt();
+            sequence[i] = reader.nextInt();
         }
 
-        int[] dp = new int[n];
-        int maxLength = 1;
-
-        for (int i = 0; i < n; i++) {
-            dp[i] = 1;
-        }
+        return getSeqIndexes(sequence, true).length;
+    }
 
-        for (int i = 1; i < n; i++) {
-            for (int j = 0; j < i; j++) {
+    //индексы (с нуля) одной из наибольших подпоследовательностей за O(n log n):
+    //  strict = true  - строго возрастающей,
+    //  strict = false - неубывающей.
+    //tails[k] - индекс элемента, которым заканчивается лучшая из найденных цепочек длины k+1
+    //(хвосты цепочек возрастают с ростом k, поэтому место для элемента ищется бинарным поиском),
+    //parent[i] - предыдущий элемент цепочки, заканчивающейся в i, для восстановления ответа
+    static int[] getSeqIndexes(int[] sequence, boolean strict) {
+        int n = sequence.length;
+        int[] tails = new int[n];
+        int[] parent = new int[n];
+        int length = 0;
 
-                if (sequence[j] < sequence[i] && dp[i] < dp[j] + 1) {
-                    dp[i] = dp[j] + 1;
+        for (int i = 0; i < n; i++) {
+            int value = sequence[i];
+            int left = 0, right = length;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                int tail = sequence[tails[mid]];
+                if (tail < value || (!strict && tail == value)) {
+                    left = mid + 1;
+                } else {
+                    right = mid;
                 }
             }
-            maxLength = Math.max(maxLength, dp[i]);
+            parent[i] = left > 0 ? tails[left - 1] : -1;
+            tails[left] = i;
+            if (left == length) {
+                length++;
+            }
         }
 
-        scanner.close();
-        return maxLength;
+        int[] indexes = new int[length];
+        for (int k = length - 1, i = length > 0 ? tails[length - 1] : -1; k >= 0; k--, i = parent[i]) {
+            indexes[k] = i;
+        }
+        return indexes;
     }
 }
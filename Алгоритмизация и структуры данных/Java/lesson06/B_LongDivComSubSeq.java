@@ -1,8 +1,10 @@
 package by.it.group451003.kishkov.lesson06;
 
+import by.it.group451003.kishkov.io.FastReader;
+
 import java.io.FileNotFoundException;
 import java.io.InputStream;
-import java.util.Scanner;
+import java.util.Arrays;
 
 /*
 Задача на программирование: наибольшая кратная подпоследовательность
@@ -38,19 +40,57 @@ public class B_LongDivComSubSeq {
     }
 
     int getDivSeqSize(InputStream stream) {
-        Scanner scanner = new Scanner(stream);
+        FastReader reader = new FastReader(stream);
+        int result = getDivSeqSize(reader);
+        reader.close();
+        return result;
+    }
 
-        int n = scanner.nextInt();
+    int getDivSeqSize(FastReader reader) {
+        int n = reader.nextInt();
 
         int[] sequence = new int[n];
 
         for (int i = 0; i < n; i++) {
-            sequence[i] = scanner.nextInt();
+            sequence[i] = reader.nextInt();
         }
 
+        return getDivSeqSize(sequence, Mode.DIVISORS);
+    }
+
+    enum Mode {
+        QUADRATIC,  //попарная проверка делимости, O(n^2) делений
+        DIVISORS    //для каждого элемента перебираются только его делители среди уже встреченных значений;
+                    //решето и разложение рассчитаны на натуральные числа, при нуле или
+                    //отрицательных значениях (вне условия) считается как QUADRATIC
+    }
+
+    //при максимуме не больше этого значения длины цепочек хранятся в массиве по значению
+    private static final int BUCKET_LIMIT = 1 << 22;
+    //у чисел до 2^31 не больше 1600 делителей и не больше 9 различных простых делителей
+    private static final int MAX_DIVISORS = 1600;
+    private static final int MAX_PRIMES = 10;
+
+    int getDivSeqSize(int[] sequence, Mode mode) {
+        if (mode == Mode.QUADRATIC) {
+            return quadratic(sequence);
+        }
+        int max = 1;
+        for (int value : sequence) {
+            if (value <= 0) {
+                return quadratic(sequence);
+            }
+            max = Math.max(max, value);
+        }
+        return max <= BUCKET_LIMIT ? bucketChains(sequence, max) : hashChains(sequence, max);
+    }
+
+    private static int quadratic(int[] sequence) {
+        int n = sequence.length;
         int[] dp = new int[n];
 
-        int maxLength = 1;
+        //у пустой последовательности ответ 0, как и в DIVISORS
+        int maxLength = Math.min(n, 1);
 
         for (int i = 0; i < n; i++) {
             dp[i] = 1;
@@ -58,15 +98,206 @@ public class B_LongDivComSubSeq {
 
         for (int i = 1; i < n; i++) {
             for (int j = 0; j < i; j++) {
-                if (sequence[i] % sequence[j] == 0 && dp[i] < dp[j] + 1) {
+                if (divides(sequence[j], sequence[i]) && dp[i] < dp[j] + 1) {
                     dp[i] = dp[j] + 1;
                 }
             }
             maxLength = Math.max(maxLength, dp[i]);
         }
 
-        scanner.close();
         return maxLength;
     }
 
-}
\ No newline at end of file
+    //0 делится на любое число, но сам делит только 0; знак на делимость не влияет
+    private static boolean divides(int divisor, int value) {
+        return divisor == 0 ? value == 0 : value % divisor == 0;
+    }
+
+    //небольшие значения: best[v] - длина лучшей цепочки, оканчивающейся значением v,
+    //разложение на множители - по решету наименьших простых делителей за O(log v)
+    private static int bucketChains(int[] sequence, int max) {
+        int[] smallest = smallestPrimeFactors(max);
+        int[] best = new int[max + 1];
+        int[] primes = new int[MAX_PRIMES];
+        int[] powers = new int[MAX_PRIMES];
+        int[] divisors = new int[MAX_DIVISORS];
+        int result = 0;
+
+        for (int value : sequence) {
+            int factors = 0;
+            for (int rest = value; rest > 1; factors++) {
+                int p = smallest[rest];
+                int e = 0;
+                while (rest % p == 0) {
+                    rest /= p;
+                    e++;
+                }
+                primes[factors] = p;
+                powers[factors] = e;
+            }
+            int count = expand(primes, powers, factors, divisors);
+
+            //среди делителей есть и само value, так что повторы тоже продлевают цепочку
+            int chain = 0;
+            for (int i = 0; i < count; i++) {
+                chain = Math.max(chain, best[divisors[i]]);
+            }
+            best[value] = chain + 1;
+            result = Math.max(result, chain + 1);
+        }
+        return result;
+    }
+
+    //большие значения: лучшие длины в хеш-таблице по значению, разложение - пробным делением
+    //на простые до sqrt(max). Пока в таблице меньше значений, чем пришлось бы перебрать простых,
+    //дешевле просто проверить делимость на каждое из уже встреченных значений
+    private static int hashChains(int[] sequence, int max) {
+        int[] trial = primesUpTo((int) Math.sqrt(max) + 1);
+        ChainMap best = new ChainMap(sequence.length);
+        int[] primes = new int[MAX_PRIMES];
+        int[] powers = new int[MAX_PRIMES];
+        int[] divisors = new int[MAX_DIVISORS];
+        int result = 0;
+
+        for (int value : sequence) {
+            int chain = 0;
+            if (best.size() < trial.length) {
+                for (int i = 0; i < best.size(); i++) {
+                    if (value % best.keyAt(i) == 0) {
+                        chain = Math.max(chain, best.valueAt(i));
+                    }
+                }
+            } else {
+                int factors = 0;
+                int rest = value;
+                for (int i = 0; i < trial.length && trial[i] * trial[i] <= rest; i++) {
+                    int p = trial[i];
+                    if (rest % p == 0) {
+                        int e = 0;
+                        while (rest % p == 0) {
+                            rest /= p;
+                            e++;
+                        }
+                        primes[factors] = p;
+                        powers[factors++] = e;
+                    }
+                }
+                if (rest > 1) {
+                    primes[factors] = rest;
+                    powers[factors++] = 1;
+                }
+                int count = expand(primes, powers, factors, divisors);
+                for (int i = 0; i < count; i++) {
+                    chain = Math.max(chain, best.get(divisors[i]));
+                }
+            }
+            best.put(value, chain + 1);
+            result = Math.max(result, chain + 1);
+        }
+        return result;
+    }
+
+    //все делители числа по его разложению p1^e1 * ... * pk^ek, возвращает их количество
+    private static int expand(int[] primes, int[] powers, int factors, int[] divisors) {
+        divisors[0] = 1;
+        int count = 1;
+        for (int f = 0; f < factors; f++) {
+            int known = count;
+            int multiplier = 1;
+            for (int e = 0; e < powers[f]; e++) {
+                multiplier *= primes[f];
+                for (int i = 0; i < known; i++) {
+                    divisors[count++] = divisors[i] * multiplier;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int[] smallestPrimeFactors(int max) {
+        int[] smallest = new int[max + 1];
+        for (int i = 2; i <= max; i++) {
+            if (smallest[i] == 0) {
+                for (int j = i; j <= max; j += i) {
+                    if (smallest[j] == 0) {
+                        smallest[j] = i;
+                    }
+                }
+            }
+        }
+        return smallest;
+    }
+
+    private static int[] primesUpTo(int limit) {
+        boolean[] composite = new boolean[limit + 1];
+        int[] primes = new int[limit + 1];
+        int count = 0;
+        for (int i = 2; i <= limit; i++) {
+            if (!composite[i]) {
+                primes[count++] = i;
+                for (long j = (long) i * i; j <= limit; j += i) {
+                    composite[(int) j] = true;
+                }
+            }
+        }
+        return Arrays.copyOf(primes, count);
+    }
+
+    //хеш-таблица int -> int с открытой адресацией на примитивных массивах,
+    //без упаковки в Integer. Ключи натуральные, 0 означает пустую ячейку.
+    //Емкость рассчитана на n разных ключей сразу, поэтому перестроения нет
+    private static final class ChainMap {
+        private final int[] keys;
+        private final int[] values;
+        private final int[] slots;   //номера занятых ячеек в порядке добавления
+        private final int mask;
+        private int size = 0;
+
+        ChainMap(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(expected, 1)) << 2;
+            keys = new int[capacity];
+            values = new int[capacity];
+            slots = new int[expected];
+            mask = capacity - 1;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int keyAt(int i) {
+            return keys[slots[i]];
+        }
+
+        int valueAt(int i) {
+            return values[slots[i]];
+        }
+
+        int get(int key) {
+            for (int slot = hash(key); keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return 0;
+        }
+
+        //значение по ключу только растет, поэтому put просто перезаписывает его
+        void put(int key, int value) {
+            int slot = hash(key);
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == 0) {
+                keys[slot] = key;
+                slots[size++] = slot;
+            }
+            values[slot] = value;
+        }
+
+        private int hash(int key) {
+            int h = key * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package by.it.group451003.kishkov.lesson06;
 
+import by.it.group451003.kishkov.io.FastReader;
+
 import java.io.FileNotFoundException;
 import java.io.InputStream;
-import java.util.Scanner;
 
 /*
 Задача на программирование: наибольшая невозростающая подпоследовательность
@@ -40,40 +41,45 @@ public class C_LongNotUpSubSeq {
     public static void main(String[] args) throws FileNotFoundException {
         InputStream stream = B_LongDivComSubSeq.class.getResourceAsStream("dataC.txt");
         C_LongNotUpSubSeq instance = new C_LongNotUpSubSeq();
-        int result = instance.getNotUpSeqSize(stream);
-        System.out.print(result);
+        int[] indexes = instance.getNotUpSeqIndexes(new FastReader(stream));
+        System.out.println(indexes.length);
+        for (int index : indexes) {
+            System.out.print(index + " ");
+        }
     }
 
     int getNotUpSeqSize(InputStream stream) {
-        Scanner scanner = new Scanner(stream);
+        FastReader reader = new FastReader(stream);
+        int result = getNotUpSeqSize(reader);
+        reader.close();
+        return result;
+    }
 
-        int n = scanner.nextInt();
+    int getNotUpSeqSize(FastReader reader) {
+        return getNotUpSeqIndexes(reader).length;
+    }
+
+    //индексы i[1]<i[2]<...<i[k] (с единицы) наибольшей невозрастающей подпоследовательности
+    int[] getNotUpSeqIndexes(FastReader reader) {
+        int n = reader.nextInt();
         int[] sequence = new int[n];
 
         for (int i = 0; i < n; i++) {
-            sequence[i] = scanner.nextInt();
+            sequence[i] = reader.nextInt();
         }
 
-        int[] dp = new int[n];
-        int maxLength = 1;
-
+        //~x = -x-1 переворачивает порядок без переполнения,
+        //и невозрастающая последовательность становится неубывающей
+        int[] inverted = new int[n];
         for (int i = 0; i < n; i++) {
-            dp[i] = 1;
+            inverted[i] = ~sequence[i];
         }
 
-        for (int i = 1; i < n; i++) {
-            for (int j = 0; j < i; j++) {
-                if (sequence[j] >= sequence[i] && dp[i] < dp[j] + 1) {
-                    dp[i] = dp[j] + 1;
-                }
-            }
-            if (dp[i] > maxLength) {
-                maxLength = dp[i];
-            }
+        int[] indexes = A_LIS.getSeqIndexes(inverted, false);
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i]++;
         }
-
-        scanner.close();
-        return maxLength;
+        return indexes;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package by.it.group451003.kishkov.lesson06;
+
+import by.it.group451003.kishkov.bench.BenchmarkData;
+import by.it.group451003.kishkov.bench.BenchmarkData.Distribution;
+import by.it.group451003.kishkov.io.FastReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/*
+JMH-бенчмарки урока 6: наибольшая возрастающая подпоследовательность.
+Текущий A_LIS квадратичен, поэтому размеры по умолчанию ограничены 10^5,
+большие задаются через -p size=...
+*/
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Lesson06Benchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "MANY_DUPLICATES"})
+    Distribution distribution;
+
+    private byte[] input;
+
+    @Setup
+    public void setUp() {
+        input = BenchmarkData.arrayInput(BenchmarkData.ints(size, distribution, 2_000_000_000));
+    }
+
+    @Benchmark
+    public int lis() {
+        return new A_LIS().getSeqSize(new FastReader(new ByteArrayInputStream(input)));
+    }
+}
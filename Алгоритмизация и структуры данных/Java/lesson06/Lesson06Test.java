@@ -1,9 +1,13 @@
 package by.it.group451003.kishkov.lesson06;
 
+import by.it.group451003.kishkov.io.FastReader;
 import org.junit.Test;
 
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertTrue;
 
 public class Lesson06Test {
@@ -26,6 +30,52 @@ public class Lesson06Test {
         assertTrue("B failed", ok);
     }
 
+    @Test
+    public void checkB_modes() throws Exception {
+        B_LongDivComSubSeq instance = new B_LongDivComSubSeq();
+        Random random = new Random(451003);
+        int[] divisorsOf360 = {1, 2, 3, 4, 5, 6, 8, 9, 10, 12, 15, 18, 20, 24, 30, 36, 40, 45, 60, 72, 90, 120, 180, 360};
+        for (int round = 0; round < 20; round++) {
+            int[] sequence = new int[1500];
+            for (int i = 0; i < sequence.length; i++) {
+                int multiplier = divisorsOf360[random.nextInt(divisorsOf360.length)];
+                //в нечетных раундах значения больше порога массива по значениям
+                sequence[i] = round % 2 == 0 ? multiplier * (1 + random.nextInt(3))
+                        : random.nextInt(10) == 0 ? 1 + random.nextInt(2_000_000_000) : multiplier * 5_000_011;
+            }
+            int expected = instance.getDivSeqSize(sequence, B_LongDivComSubSeq.Mode.QUADRATIC);
+            int result = instance.getDivSeqSize(sequence, B_LongDivComSubSeq.Mode.DIVISORS);
+            assertTrue("B modes failed, round " + round, result == expected);
+        }
+    }
+
+    @Test
+    public void checkB_nonPositive() throws Exception {
+        B_LongDivComSubSeq instance = new B_LongDivComSubSeq();
+        int[][] sequences = {
+                {0, 3, -6, 12, 0},                      //3, -6, 12, 0
+                {-1, 0, 0, 7},                          //-1, 0, 0
+                {Integer.MIN_VALUE, -1, 2, Integer.MIN_VALUE},  //-1, 2, MIN_VALUE
+                {0, 0, 0}
+        };
+        int[] expected = {4, 3, 3, 3};
+        for (int i = 0; i < sequences.length; i++) {
+            for (B_LongDivComSubSeq.Mode mode : B_LongDivComSubSeq.Mode.values()) {
+                int result = instance.getDivSeqSize(sequences[i], mode);
+                assertTrue("B non-positive failed, " + mode + " " + Arrays.toString(sequences[i]), result == expected[i]);
+            }
+        }
+    }
+
+    @Test(timeout = 1000)
+    public void checkB_empty() throws Exception {
+        B_LongDivComSubSeq instance = new B_LongDivComSubSeq();
+        for (B_LongDivComSubSeq.Mode mode : B_LongDivComSubSeq.Mode.values()) {
+            assertTrue("B empty failed, " + mode, instance.getDivSeqSize(new int[0], mode) == 0);
+            assertTrue("B single failed, " + mode, instance.getDivSeqSize(new int[]{7}, mode) == 1);
+        }
+    }
+
     @Test(timeout = 1000)
     public void checkC() throws Exception {
         InputStream inputStream = C_LongNotUpSubSeq.class.getResourceAsStream("dataC.txt");
@@ -35,4 +85,38 @@ public class Lesson06Test {
         assertTrue("C failed", ok);
     }
 
+    @Test
+    public void checkC_indexes() throws Exception {
+        InputStream inputStream = C_LongNotUpSubSeq.class.getResourceAsStream("dataC.txt");
+        C_LongNotUpSubSeq instance = new C_LongNotUpSubSeq();
+        int[] result = instance.getNotUpSeqIndexes(new FastReader(inputStream));
+        assertArrayEquals("C indexes failed", new int[]{1, 3, 4, 5}, result);
+    }
+
+    @Test
+    public void checkA_engine() throws Exception {
+        int[] sequence = new Random(451003).ints(2000, 0, 500).toArray();
+        for (boolean strict : new boolean[]{true, false}) {
+            //эталон - квадратичная динамика
+            int[] dp = new int[sequence.length];
+            int expected = 0;
+            for (int i = 0; i < sequence.length; i++) {
+                dp[i] = 1;
+                for (int j = 0; j < i; j++) {
+                    boolean fits = strict ? sequence[j] < sequence[i] : sequence[j] <= sequence[i];
+                    if (fits && dp[i] < dp[j] + 1) dp[i] = dp[j] + 1;
+                }
+                expected = Math.max(expected, dp[i]);
+            }
+
+            int[] indexes = A_LIS.getSeqIndexes(sequence, strict);
+            boolean ok = indexes.length == expected;
+            for (int k = 1; k < indexes.length; k++) {
+                int prev = sequence[indexes[k - 1]], next = sequence[indexes[k]];
+                ok = ok && indexes[k - 1] < indexes[k] && (strict ? prev < next : prev <= next);
+            }
+            assertTrue("A engine failed, strict=" + strict + " " + Arrays.toString(indexes), ok);
+        }
+    }
+
 }
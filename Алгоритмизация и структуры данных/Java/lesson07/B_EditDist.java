@@ -2,6 +2,7 @@ package by.it.group451003.kishkov.lesson07;
 
 import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Scanner;
 
 /*
@@ -38,8 +39,28 @@ import java.util.Scanner;
 
 public class B_EditDist {
 
+    enum Mode {
+        MATRIX,       //полная матрица (m+1)x(n+1)
+        ROLLING,      //две строки матрицы, O(min(m, n)) памяти
+        BIT_PARALLEL  //битовые векторы Майерса/Хиррё: 64 строки матрицы за одну операцию над long
+    }
 
     int getDistanceEdinting(String one, String two) {
+        return getDistanceEdinting(one, two, Mode.BIT_PARALLEL);
+    }
+
+    int getDistanceEdinting(String one, String two, Mode mode) {
+        switch (mode) {
+            case ROLLING:
+                return rolling(one, two);
+            case BIT_PARALLEL:
+                return bitParallel(one, two);
+            default:
+                return matrix(one, two);
+        }
+    }
+
+    private static int matrix(String one, String two) {
         int m = one.length();
         int n = two.length();
 
@@ -69,6 +90,117 @@ public class B_EditDist {
         return dp[m][n];
     }
 
+    //строки dp[i-1][*] и dp[i][*]; по столбцам идет более короткая строка
+    private static int rolling(String one, String two) {
+        if (one.length() < two.length()) {
+            String temp = one;
+            one = two;
+            two = temp;
+        }
+        int m = one.length();
+        int n = two.length();
+
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        for (int j = 0; j <= n; j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= m; i++) {
+            current[0] = i;
+            char c = one.charAt(i - 1);
+            for (int j = 1; j <= n; j++) {
+                if (c == two.charAt(j - 1)) {
+                    current[j] = previous[j - 1];
+                } else {
+                    current[j] = 1 + Math.min(Math.min(previous[j], current[j - 1]), previous[j - 1]);
+                }
+            }
+            int[] temp = previous;
+            previous = current;
+            current = temp;
+        }
+        return previous[n];
+    }
+
+    /*
+    Алгоритм Майерса (1999) в блочной форме Хиррё для глобального расстояния.
+    Столбец матрицы по более короткой строке (образцу) хранится разностями соседних
+    клеток: бит i в VP/VN означает, что dp[i+1][j] - dp[i][j] равно +1/-1 (иначе 0).
+    Переход к следующему столбцу - несколько побитовых операций и одно сложение
+    на каждые 64 символа образца. Между блоками передаются горизонтальные разности
+    в последней строке блока (переносы hp/hn), а в верхней строке разность всегда +1.
+    Итого O(ceil(m/64) * n) операций и O(ceil(m/64) * sigma) памяти.
+    */
+    private static int bitParallel(String one, String two) {
+        String pattern = one.length() <= two.length() ? one : two;
+        String text = pattern == one ? two : one;
+        int m = pattern.length();
+        if (m == 0) {
+            return text.length();
+        }
+        int words = (m + 63) >>> 6;
+
+        //символы образца получают плотные номера 1..sigma, остальные - 0 (пустой вектор)
+        int maxChar = 0;
+        for (int i = 0; i < m; i++) {
+            maxChar = Math.max(maxChar, pattern.charAt(i));
+        }
+        int[] symbol = new int[maxChar + 1];
+        int sigma = 0;
+        for (int i = 0; i < m; i++) {
+            char c = pattern.charAt(i);
+            if (symbol[c] == 0) {
+                symbol[c] = ++sigma;
+            }
+        }
+        //peq[symbol * words + w] - маска позиций символа в блоке w образца
+        long[] peq = new long[(sigma + 1) * words];
+        for (int i = 0; i < m; i++) {
+            peq[symbol[pattern.charAt(i)] * words + (i >>> 6)] |= 1L << i;
+        }
+
+        long[] vp = new long[words];
+        long[] vn = new long[words];
+        Arrays.fill(vp, -1L);
+        long last = 1L << ((m - 1) & 63);
+        int score = m;
+
+        for (int j = 0; j < text.length(); j++) {
+            char c = text.charAt(j);
+            int offset = c <= maxChar ? symbol[c] * words : 0;
+            long hpCarry = 1;
+            long hnCarry = 0;
+            for (int w = 0; w < words; w++) {
+                long eq = peq[offset + w];
+                long pv = vp[w];
+                long mv = vn[w];
+
+                long x = eq | hnCarry;
+                long d0 = (((x & pv) + pv) ^ pv) | x | mv;
+                long hp = mv | ~(d0 | pv);
+                long hn = d0 & pv;
+
+                long hpIn = hpCarry;
+                long hnIn = hnCarry;
+                if (w < words - 1) {
+                    hpCarry = hp >>> 63;
+                    hnCarry = hn >>> 63;
+                } else {
+                    hpCarry = (hp & last) != 0 ? 1 : 0;
+                    hnCarry = (hn & last) != 0 ? 1 : 0;
+                }
+
+                hp = (hp << 1) | hpIn;
+                hn = (hn << 1) | hnIn;
+                vp[w] = hn | ~(d0 | hp);
+                vn[w] = hp & d0;
+            }
+            score += (int) (hpCarry - hnCarry);
+        }
+        return score;
+    }
+
 
     public static void main(String[] args) throws FileNotFoundException {
         InputStream stream = B_EditDist.class.getResourceAsStream("dataABC.txt");
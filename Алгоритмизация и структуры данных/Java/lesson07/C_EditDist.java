@@ -49,7 +49,23 @@ import java.util.Stack;
 
 public class C_EditDist {
 
+    enum Mode {
+        MATRIX,     //матрицы расстояний и операций (m+1)x(n+1), обратный проход по операциям
+        HIRSCHBERG  //разделяй и властвуй Хиршберга: O(m*n) времени и O(m+n) памяти
+    }
+
     String getDistanceEdinting(String one, String two) {
+        return getDistanceEdinting(one, two, Mode.HIRSCHBERG);
+    }
+
+    String getDistanceEdinting(String one, String two, Mode mode) {
+        if (mode == Mode.HIRSCHBERG) {
+            return new Hirschberg(one, two).script();
+        }
+        return matrix(one, two);
+    }
+
+    private static String matrix(String one, String two) {
         int m = one.length();
         int n = two.length();
 
@@ -130,6 +146,127 @@ public class C_EditDist {
         return result.toString();
     }
 
+    /*
+    Алгоритм Хиршберга. Строка one делится пополам; прямой проход по первой половине
+    и обратный (по перевернутым строкам) по второй дают две строки матрицы расстояний,
+    по сумме которых находится точка k, где оптимальное предписание пересекает середину.
+    Дальше задача разбивается на (one[..mid], two[..k]) и (one[mid..], two[k..]).
+    Предписание дописывается в StringBuilder слева направо, так что стек не нужен,
+    а строки расстояний переиспользуются всеми уровнями рекурсии (глубина O(log m)).
+    */
+    private static final class Hirschberg {
+        private final String one;
+        private final String two;
+        private final int[] forward;
+        private final int[] backward;
+        private final StringBuilder result = new StringBuilder();
+
+        Hirschberg(String one, String two) {
+            this.one = one;
+            this.two = two;
+            forward = new int[two.length() + 1];
+            backward = new int[two.length() + 1];
+        }
+
+        String script() {
+            align(0, one.length(), 0, two.length());
+            return result.toString();
+        }
+
+        private void align(int aLow, int aHigh, int bLow, int bHigh) {
+            if (aHigh == aLow) {
+                for (int j = bLow; j < bHigh; j++) {
+                    result.append('+').append(two.charAt(j)).append(',');
+                }
+                return;
+            }
+            if (bHigh == bLow) {
+                for (int i = aLow; i < aHigh; i++) {
+                    result.append('-').append(one.charAt(i)).append(',');
+                }
+                return;
+            }
+            if (aHigh - aLow == 1) {
+                alignOne(one.charAt(aLow), bLow, bHigh);
+                return;
+            }
+
+            int mid = (aLow + aHigh) >>> 1;
+            forwardRow(aLow, mid, bLow, bHigh);
+            backwardRow(mid, aHigh, bLow, bHigh);
+            int length = bHigh - bLow;
+            int split = 0;
+            int best = Integer.MAX_VALUE;
+            for (int k = 0; k <= length; k++) {
+                int cost = forward[k] + backward[length - k];
+                if (cost < best) {
+                    best = cost;
+                    split = k;
+                }
+            }
+            align(aLow, mid, bLow, bLow + split);
+            align(mid, aHigh, bLow + split, bHigh);
+        }
+
+        //один символ против непустого участка two: совпадение, если символ там есть,
+        //иначе замена на первый символ; все остальное - вставки
+        private void alignOne(char c, int bLow, int bHigh) {
+            int match = two.indexOf(c, bLow);
+            if (match >= bHigh) {
+                match = -1;
+            }
+            for (int j = bLow; j < bHigh; j++) {
+                if (j == match) {
+                    result.append("#,");
+                } else if (match < 0 && j == bLow) {
+                    result.append('~').append(two.charAt(j)).append(',');
+                } else {
+                    result.append('+').append(two.charAt(j)).append(',');
+                }
+            }
+        }
+
+        //forward[k] - расстояние между one[aLow..aHigh) и two[bLow..bLow+k)
+        private void forwardRow(int aLow, int aHigh, int bLow, int bHigh) {
+            int length = bHigh - bLow;
+            for (int k = 0; k <= length; k++) {
+                forward[k] = k;
+            }
+            for (int i = aLow; i < aHigh; i++) {
+                char c = one.charAt(i);
+                int diagonal = forward[0];
+                forward[0] = i - aLow + 1;
+                for (int k = 1; k <= length; k++) {
+                    int above = forward[k];
+                    forward[k] = c == two.charAt(bLow + k - 1)
+                            ? diagonal
+                            : 1 + Math.min(Math.min(above, forward[k - 1]), diagonal);
+                    diagonal = above;
+                }
+            }
+        }
+
+        //backward[k] - расстояние между one[aLow..aHigh) и последними k символами two[bLow..bHigh)
+        private void backwardRow(int aLow, int aHigh, int bLow, int bHigh) {
+            int length = bHigh - bLow;
+            for (int k = 0; k <= length; k++) {
+                backward[k] = k;
+            }
+            for (int i = aHigh - 1; i >= aLow; i--) {
+                char c = one.charAt(i);
+                int diagonal = backward[0];
+                backward[0] = aHigh - i;
+                for (int k = 1; k <= length; k++) {
+                    int above = backward[k];
+                    backward[k] = c == two.charAt(bHigh - k)
+                            ? diagonal
+                            : 1 + Math.min(Math.min(above, backward[k - 1]), diagonal);
+                    diagonal = above;
+                }
+            }
+        }
+    }
+
 
     public static void main(String[] args) throws FileNotFoundException {
         InputStream stream = C_EditDist.class.getResourceAsStream("dataABC.txt");
@@ -0,0 +1,78 @@
+package by.it.group451003.kishkov.lesson07;
+
+import by.it.group451003.kishkov.bench.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+JMH-бенчмарки урока 7: расстояние Левенштейна.
+length - длина каждой из двух случайных строк над алфавитом из alphabet букв.
+A_EditDist и матричные режимы B и C используют матрицу (m+1)x(n+1), а A_EditDist
+еще и рекурсию глубины до m+n, поэтому размеры по умолчанию ограничены 2000.
+Линейные по памяти режимы можно гонять и на длинных строках: -p length=100000
+*/
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss512m")
+public class Lesson07Benchmark {
+
+    @Param({"100", "1000", "2000"})
+    int length;
+
+    @Param({"4", "26"})
+    int alphabet;
+
+    private String one;
+    private String two;
+
+    @Setup
+    public void setUp() {
+        one = BenchmarkData.letters(length, alphabet);
+        two = BenchmarkData.letters(length + 1, alphabet);
+    }
+
+    @Benchmark
+    public int editDistRecursive() {
+        return new A_EditDist().getDistanceEdinting(one, two);
+    }
+
+    @Benchmark
+    public int editDistIterative() {
+        return new B_EditDist().getDistanceEdinting(one, two, B_EditDist.Mode.MATRIX);
+    }
+
+    @Benchmark
+    public int editDistRolling() {
+        return new B_EditDist().getDistanceEdinting(one, two, B_EditDist.Mode.ROLLING);
+    }
+
+    @Benchmark
+    public int editDistBitParallel() {
+        return new B_EditDist().getDistanceEdinting(one, two, B_EditDist.Mode.BIT_PARALLEL);
+    }
+
+    @Benchmark
+    public String editScript() {
+        return new C_EditDist().getDistanceEdinting(one, two, C_EditDist.Mode.MATRIX);
+    }
+
+    @Benchmark
+    public String editScriptHirschberg() {
+        return new C_EditDist().getDistanceEdinting(one, two, C_EditDist.Mode.HIRSCHBERG);
+    }
+}
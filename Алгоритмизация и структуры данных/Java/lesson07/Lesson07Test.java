@@ -2,6 +2,8 @@ package by.it.group451003.kishkov.lesson07;
 
 import org.junit.Test;
 
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
 
 public class Lesson07Test {
@@ -37,4 +39,65 @@ public class Lesson07Test {
         assertEquals("C3 failed", instance.getDistanceEdinting("distance","editing").split("#").length,5);
     }
 
+    @Test
+    public void B_modes() throws Exception {
+        B_EditDist instance = new B_EditDist();
+        Random random = new Random(451003);
+        //длины больше 64, чтобы битовый режим работал с несколькими блоками
+        for (int round = 0; round < 200; round++) {
+            String one = letters(random, random.nextInt(300), 1 + random.nextInt(4));
+            String two = letters(random, random.nextInt(300), 1 + random.nextInt(4));
+            int expected = instance.getDistanceEdinting(one, two, B_EditDist.Mode.MATRIX);
+            assertEquals("B rolling failed", expected, instance.getDistanceEdinting(one, two, B_EditDist.Mode.ROLLING));
+            assertEquals("B bit-parallel failed", expected, instance.getDistanceEdinting(one, two, B_EditDist.Mode.BIT_PARALLEL));
+        }
+    }
+
+    @Test
+    public void C_hirschberg() throws Exception {
+        B_EditDist distance = new B_EditDist();
+        C_EditDist instance = new C_EditDist();
+        Random random = new Random(451003);
+        for (int round = 0; round < 200; round++) {
+            String one = letters(random, random.nextInt(100), 1 + random.nextInt(4));
+            String two = letters(random, random.nextInt(100), 1 + random.nextInt(4));
+            String script = instance.getDistanceEdinting(one, two, C_EditDist.Mode.HIRSCHBERG);
+
+            //применяем предписание к one: должна получиться two ровно за distance операций
+            StringBuilder applied = new StringBuilder();
+            int i = 0;
+            int cost = 0;
+            for (String operation : script.isEmpty() ? new String[0] : script.split(",")) {
+                switch (operation.charAt(0)) {
+                    case '#':
+                        applied.append(one.charAt(i++));
+                        break;
+                    case '-':
+                        i++;
+                        cost++;
+                        break;
+                    case '+':
+                        applied.append(operation.charAt(1));
+                        cost++;
+                        break;
+                    default:
+                        applied.append(operation.charAt(1));
+                        i++;
+                        cost++;
+                }
+            }
+            assertEquals("C script failed", two, applied.toString());
+            assertEquals("C consumed failed", one.length(), i);
+            assertEquals("C cost failed", distance.getDistanceEdinting(one, two), cost);
+        }
+    }
+
+    private static String letters(Random random, int length, int alphabet) {
+        StringBuilder result = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            result.append((char) ('a' + random.nextInt(alphabet)));
+        }
+        return result.toString();
+    }
+
 }